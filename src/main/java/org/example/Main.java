@@ -1,26 +1,49 @@
 package org.example;
 
+import org.example.graph.batch.BatchAnalyzer;
+import org.example.graph.cache.ResultCache;
 import org.example.graph.dagsp.DAGShortestLongestPaths;
 import org.example.graph.models.Graph;
+import org.example.graph.output.ResultWriter;
+import org.example.graph.pipeline.AnalysisPlan;
+import org.example.graph.pipeline.AnalysisPlanner;
+import org.example.graph.pipeline.AnalysisResult;
+import org.example.graph.pipeline.PartitionedAnalysisPipeline;
+import org.example.graph.server.AnalysisServer;
 import org.example.graph.scc.SCCFinder;
 import org.example.graph.scc.SCCResult;
+import org.example.graph.topo.AcyclicityChecker;
+import org.example.graph.topo.AcyclicityResult;
 import org.example.graph.topo.KahnTopologicalSort;
 import org.example.graph.topo.TopologicalSort;
 import org.example.graph.topo.TopologicalSortResult;
 import org.example.graph.dagsp.PathFinder;
 import org.example.graph.dagsp.PathResult;
+import org.example.graph.dagsp.PathResult64;
 import org.example.graph.util.GraphLoader;
+import org.example.graph.util.IntArrayView;
 import org.example.graph.util.GraphGenerator;
 import org.example.graph.metrics.Metrics;
 
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 public class Main {
+    private static final long BATCH_CACHE_BYTES = 256L * 1024 * 1024; // results kept in memory by --batch --cache
     public static void main(String[] args) {
         if (args.length < 1) {
-            System.out.println("Usage: java Main <path-to-json-file>");
+            System.out.println("Usage: java Main <path-to-json-file> [--metrics-json]");
             System.out.println("Or: java Main --generate-datasets");
+            System.out.println("Or: java Main <path-to-json-file> --format json|csv|summary [--out <file>]");
+            System.out.println("Or: java Main --batch <directory|file.json|file-list>... [--threads N] [--cache <dir>]");
+            System.out.println("Or: java Main --serve <port> [--data-dir <dir>] [graph.json...]");
             return;
         }
 
@@ -29,8 +52,45 @@ public class Main {
             return;
         }
 
+        if ("--batch".equals(args[0])) {
+            runBatch(args);
+            return;
+        }
+
+        if ("--serve".equals(args[0]) && args.length >= 2) {
+            runServer(args);
+            return;
+        }
+
+        String format = null;
+        String outFile = null;
+        boolean metricsJson = false;
+        for (int i = 1; i < args.length; i++) {
+            if ("--format".equals(args[i]) && i + 1 < args.length) {
+                format = args[++i];
+            } else if ("--out".equals(args[i]) && i + 1 < args.length) {
+                outFile = args[++i];
+            } else if ("--metrics-json".equals(args[i])) {
+                metricsJson = true;
+            }
+        }
+
+        // Check the format before loading, so a typo does not cost a full load
+        ResultWriter.Format outputFormat = null;
+        if (format != null) {
+            try {
+                outputFormat = ResultWriter.Format.parse(format);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Unknown format: " + format);
+                System.out.println("Usage: java Main <path-to-json-file> --format json|csv|summary [--out <file>]");
+                return;
+            }
+        }
+
         Graph graph = GraphLoader.loadFromJsonSafe(args[0]);
-        if (graph != null) {
+        if (graph != null && outputFormat != null) {
+            writeResults(graph, outputFormat, outFile);
+        } else if (graph != null) {
             System.out.println("Successfully loaded graph:");
             System.out.println(graph);
             System.out.println("Number of edges: " + graph.getEdges().size());
@@ -39,28 +99,173 @@ public class Main {
             System.out.println();
 
             // Perform full analysis with metrics
-            performFullAnalysis(graph);
+            performFullAnalysis(graph, metricsJson);
 
         } else {
             System.out.println("Failed to load graph from: " + args[0]);
         }
     }
 
-    private static void performFullAnalysis(Graph graph) {
-        // Perform SCC analysis
-        SCCResult sccResult = performSCCAnalysis(graph);
+    // Analyzes every input graph in this JVM, printing one JSON line per graph
+    private static void runBatch(String[] args) {
+        List<String> inputs = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        ResultCache cache = null;
+        for (int i = 1; i < args.length; i++) {
+            if ("--threads".equals(args[i]) && i + 1 < args.length) {
+                String value = args[++i];
+                try {
+                    threads = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    threads = 0;
+                }
+                if (threads < 1) {
+                    System.out.println("Invalid thread count: " + value);
+                    System.out.println("Usage: java Main --batch <directory|file.json|file-list>... [--threads N] [--cache <dir>]");
+                    return;
+                }
+            } else if ("--cache".equals(args[i]) && i + 1 < args.length) {
+                cache = new ResultCache(BATCH_CACHE_BYTES, Path.of(args[++i]));
+            } else {
+                inputs.add(args[i]);
+            }
+        }
+
+        try {
+            List<Path> files = BatchAnalyzer.resolveInputs(inputs);
+            long start = System.nanoTime();
+            int failures = new BatchAnalyzer(threads, cache).run(files, System.out);
+            System.err.printf("Analyzed %d graphs (%d failed) in %.3f ms%n",
+                    files.size(), failures, (System.nanoTime() - start) / 1_000_000.0);
+        } catch (IOException e) {
+            System.err.println("Error reading batch inputs: " + e.getMessage());
+        }
+    }
+
+    // Starts the analysis server on loopback, preloading the given files under their base names
+    private static void runServer(String[] args) {
+        int port;
+        try {
+            port = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            port = -1;
+        }
+        if (port < 0 || port > 65535) {
+            System.out.println("Invalid port: " + args[1]);
+            System.out.println("Usage: java Main --serve <port> [--data-dir <dir>] [graph.json...]");
+            return;
+        }
+        Path dataDirectory = null;
+        List<String> files = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            if ("--data-dir".equals(args[i]) && i + 1 < args.length) {
+                dataDirectory = Path.of(args[++i]);
+            } else {
+                files.add(args[i]);
+            }
+        }
+        try {
+            AnalysisServer server = AnalysisServer.start(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port), dataDirectory);
+            for (String file : files) {
+                Graph graph = GraphLoader.loadFromJsonSafe(file);
+                if (graph != null) {
+                    String id = Path.of(file).getFileName().toString().replaceFirst("\\.json$", "");
+                    server.load(id, graph);
+                    System.out.println("Loaded " + file + " as " + id);
+                }
+            }
+            System.out.println("Analysis server listening on port " + server.getPort());
+        } catch (IOException e) {
+            System.err.println("Error starting server: " + e.getMessage());
+        }
+    }
+
+    // Machine-readable output: no per-vertex console printing; disconnected islands are analyzed in parallel
+    private static void writeResults(Graph graph, ResultWriter.Format format, String outFile) {
+        ResultWriter writer = new ResultWriter(format);
+        AnalysisResult result = new PartitionedAnalysisPipeline().analyze(graph);
+        try {
+            if (outFile == null) {
+                writer.write(result, System.out);
+            } else {
+                try (OutputStream out = new FileOutputStream(outFile)) {
+                    writer.write(result, out);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing results: " + e.getMessage());
+        }
+    }
+
+    private static void performFullAnalysis(Graph graph, boolean metricsJson) {
+        List<Metrics> phaseMetrics = new ArrayList<>();
 
-        // Perform topological sort
-        TopologicalSortResult topoResult = performTopologicalSort(graph, sccResult);
+        // Pick the engines from the graph's profile
+        AnalysisPlan plan = performPlanning(graph, phaseMetrics);
+
+        // Check for cycles first unless the profile proves one: a DAG needs neither SCC analysis nor condensation
+        AcyclicityResult acyclicity = plan.getSccStrategy() == AnalysisPlan.SccStrategy.DAG_FAST_PATH
+                ? performAcyclicityCheck(graph, phaseMetrics) : null;
+        SCCResult sccResult;
+        TopologicalSortResult topoResult;
+        if (acyclicity != null && acyclicity.isAcyclic()) {
+            sccResult = SCCResult.ofAcyclic(graph, acyclicity.getTopologicalOrder());
+            topoResult = acyclicity.toTopologicalSortResult();
+        } else {
+            // Perform SCC analysis
+            sccResult = performSCCAnalysis(graph, phaseMetrics);
+            if (plan.isParallelCondensation()) {
+                sccResult.getCondensationGraphParallel();
+            }
+
+            // Perform topological sort
+            topoResult = performTopologicalSort(graph, sccResult, phaseMetrics);
+        }
 
         // Perform path analysis
-        performPathAnalysis(graph, topoResult);
+        performPathAnalysis(graph, plan, topoResult, phaseMetrics);
 
         // Print summary
         printAnalysisSummary(graph, sccResult, topoResult);
+        if (metricsJson) {
+            printMetricsJson(phaseMetrics);
+        }
     }
 
-    private static SCCResult performSCCAnalysis(Graph graph) {
+    private static AnalysisPlan performPlanning(Graph graph, List<Metrics> phaseMetrics) {
+        System.out.println("=== Planning Analysis ===");
+
+        Metrics planMetrics = Metrics.create("AnalysisPlanner");
+        AnalysisPlan plan = new AnalysisPlanner().plan(graph, planMetrics);
+        phaseMetrics.add(planMetrics);
+
+        System.out.print(plan);
+        System.out.println();
+
+        return plan;
+    }
+
+    private static AcyclicityResult performAcyclicityCheck(Graph graph, List<Metrics> phaseMetrics) {
+        System.out.println("=== Checking Acyclicity ===");
+
+        AcyclicityChecker checker = new AcyclicityChecker();
+        AcyclicityResult acyclicity = checker.check(graph);
+        phaseMetrics.add(checker.getMetrics());
+
+        if (acyclicity.isAcyclic()) {
+            System.out.println("Graph is a DAG: SCC analysis and condensation skipped");
+            System.out.println("Topological order (DFS): " + new IntArrayView(acyclicity.getTopologicalOrder()));
+        } else {
+            System.out.println("Cycle found: " + acyclicity.getCycle());
+        }
+        System.out.printf("Acyclicity check completed in: %.3f ms%n", checker.getMetrics().getElapsedTimeMillis());
+        System.out.println();
+
+        return acyclicity;
+    }
+
+    private static SCCResult performSCCAnalysis(Graph graph, List<Metrics> phaseMetrics) {
         System.out.println("=== Performing SCC Analysis ===");
 
         SCCFinder.SCCResultWithMetrics sccWithMetrics =
@@ -68,6 +273,7 @@ public class Main {
 
         SCCResult sccResult = sccWithMetrics.getResult();
         Metrics sccMetrics = sccWithMetrics.getMetrics();
+        phaseMetrics.add(sccMetrics);
 
         SCCFinder.printSCCResultsWithMetrics(sccResult, sccMetrics);
         System.out.printf("\nSCC analysis completed in: %.3f ms\n", sccMetrics.getElapsedTimeMillis());
@@ -76,12 +282,14 @@ public class Main {
         return sccResult;
     }
 
-    private static TopologicalSortResult performTopologicalSort(Graph graph, SCCResult sccResult) {
+    private static TopologicalSortResult performTopologicalSort(Graph graph, SCCResult sccResult,
+                                                                List<Metrics> phaseMetrics) {
         System.out.println("=== Performing Topological Sort ===");
 
         KahnTopologicalSort kahn = new KahnTopologicalSort();
         TopologicalSortResult topoResult = kahn.sortFromSCC(graph, sccResult);
         Metrics topoMetrics = kahn.getMetrics();
+        phaseMetrics.add(topoMetrics);
 
         TopologicalSort.printTopologicalResults(topoResult, sccResult);
 
@@ -102,18 +310,28 @@ public class Main {
         return topoResult;
     }
 
-    private static void performPathAnalysis(Graph graph, TopologicalSortResult topoResult) {
+    private static void performPathAnalysis(Graph graph, AnalysisPlan plan, TopologicalSortResult topoResult,
+                                            List<Metrics> phaseMetrics) {
         System.out.println("=== Performing Path Analysis ===");
 
         // Get source from graph
         int source = graph.getSource();
 
+        // Int sums may wrap on this graph; the 64-bit engine saturates instead
+        if (plan.isPathOverflowPossible()) {
+            Map<String, PathResult64> pathResults = PathFinder.findAllPaths64(graph, topoResult, source);
+            System.out.println(pathResults.get("shortest"));
+            System.out.println(pathResults.get("longest"));
+            return;
+        }
+
         // Compute both shortest and longest paths with metrics
         DAGShortestLongestPaths pathFinder = new DAGShortestLongestPaths();
         Map<String, PathResult> pathResults = pathFinder.computeAllPaths(graph, topoResult, source);
 
         PathResult shortestResult = pathResults.get("shortest");
         PathResult longestResult = pathResults.get("longest");
+        phaseMetrics.add(pathFinder.getMetrics());
 
         // Print results with metrics
         PathFinder.printPathResultsWithMetrics(shortestResult, pathFinder.getMetrics());
@@ -133,5 +351,16 @@ public class Main {
                 .orElse(0) + " vertices");
         System.out.println("Topological Order: " + (topoResult.isValid() ? "VALID" : "INVALID"));
         System.out.println("Is DAG: " + (sccResult.getComponents().size() == graph.getN() ? "Yes" : "No (has cycles)"));
+        System.out.println("Estimated memory: graph " + graph.estimateRetainedBytes() + " B, SCC result "
+                + sccResult.estimateRetainedBytes() + " B, topological order " + topoResult.estimateRetainedBytes() + " B");
+    }
+
+    // One JSON object per phase, for scripts that track time and memory across runs
+    private static void printMetricsJson(List<Metrics> phaseMetrics) {
+        System.out.println();
+        System.out.println("=== Phase Metrics (JSON) ===");
+        for (Metrics metrics : phaseMetrics) {
+            System.out.println(metrics.toJson());
+        }
     }
 }
\ No newline at end of file
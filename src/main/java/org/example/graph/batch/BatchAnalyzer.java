@@ -0,0 +1,163 @@
+package org.example.graph.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.graph.cache.ResultCache;
+import org.example.graph.models.Graph;
+import org.example.graph.pipeline.AnalysisPipeline;
+import org.example.graph.pipeline.AnalysisResult;
+import org.example.graph.util.AnalysisWorkspace;
+import org.example.graph.util.DeepStackThreads;
+import org.example.graph.util.GraphLoader;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes many graph files in one JVM.
+ * Each file gets a virtual thread that loads it and waits for its analysis; the analysis itself runs on a
+ * bounded pool of platform threads, so at most computeThreads graphs are analyzed at once while loading
+ * overlaps with it. At most twice that many graphs are loaded or being analyzed at a time, so a large batch never
+ * holds all its graphs in memory. One JSON line per graph is written to the output, in completion order.
+ * With a ResultCache, graphs whose fingerprint was analyzed before are answered from the cache on the loader thread.
+ */
+public class BatchAnalyzer {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int IN_FLIGHT_PER_COMPUTE_THREAD = 2; // one being analyzed, one loaded and waiting
+
+    private final int computeThreads;
+    private final ResultCache cache; // null when caching is off
+    private final AnalysisPipeline pipeline = new AnalysisPipeline();
+    // Compute threads are long-lived, so each keeps one workspace for all the graphs it analyzes
+    private final ThreadLocal<AnalysisWorkspace> workspaces = ThreadLocal.withInitial(AnalysisWorkspace::new);
+
+    public BatchAnalyzer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchAnalyzer(int computeThreads) {
+        this(computeThreads, null);
+    }
+
+    public BatchAnalyzer(int computeThreads, ResultCache cache) {
+        if (computeThreads <= 0) {
+            throw new IllegalArgumentException("Compute threads must be positive: " + computeThreads);
+        }
+        this.computeThreads = computeThreads;
+        this.cache = cache;
+    }
+
+    /**
+     * Expands directories to their *.json files (sorted) and other non-JSON files to the paths they list, one per line
+     */
+    public static List<Path> resolveInputs(List<String> inputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String input : inputs) {
+            Path path = Path.of(input);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> entries = Files.list(path)) {
+                    entries.filter(p -> p.getFileName().toString().endsWith(".json"))
+                            .sorted()
+                            .forEach(files::add);
+                }
+            } else if (path.getFileName().toString().endsWith(".json")) {
+                files.add(path);
+            } else {
+                for (String line : Files.readAllLines(path)) {
+                    if (!line.isBlank()) {
+                        files.add(Path.of(line.trim()));
+                    }
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Analyzes all files and writes one result line per file; returns the number of files that failed
+     */
+    public int run(List<Path> files, PrintStream out) {
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService computePool = Executors.newFixedThreadPool(computeThreads,
+                DeepStackThreads.factory("graph-compute"));
+        // Loads wait for a permit, so only graphs about to be analyzed are in memory
+        Semaphore inFlight = new Semaphore(IN_FLIGHT_PER_COMPUTE_THREAD * computeThreads);
+        try (ExecutorService loaders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path file : files) {
+                loaders.submit(() -> {
+                    String line = analyzeFile(file, computePool, inFlight, failures);
+                    synchronized (out) {
+                        out.println(line);
+                    }
+                });
+            }
+        } finally {
+            computePool.shutdown();
+        }
+        out.flush();
+        return failures.get();
+    }
+
+    private String analyzeFile(Path file, ExecutorService computePool, Semaphore inFlight, AtomicInteger failures) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("file", file.toString());
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            inFlight.acquire();
+            acquired = true;
+            long loadStart = System.nanoTime(); // Excludes the wait for a permit
+            Graph graph = GraphLoader.loadFromJson(file.toString());
+            long loaded = System.nanoTime();
+            AnalysisResult result = cache != null ? cache.get(graph) : null;
+            line.put("cached", result != null);
+            if (result == null) {
+                result = computePool.submit(() -> pipeline.analyze(graph, workspaces.get())).get();
+                if (cache != null) {
+                    cache.put(graph.getFingerprint(), result);
+                }
+            }
+
+            line.put("vertices", graph.getN());
+            line.put("edges", graph.getEdges().size());
+            line.put("sccs", result.getSccResult().getComponents().size());
+            line.put("largestScc", result.getLargestComponentSize());
+            line.put("dag", result.isDag());
+            line.put("topologicalOrderValid", result.getTopoResult().isValid());
+            if (result.getLongestPaths() != null) {
+                line.put("criticalPathLength", result.getLongestPaths().getCriticalPathLength());
+            }
+            line.put("loadNanos", loaded - loadStart);
+            line.put("analysisNanos", result.getTotalNanos());
+        } catch (ExecutionException e) {
+            failures.incrementAndGet();
+            line.put("error", String.valueOf(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures.incrementAndGet();
+            line.put("error", "interrupted");
+        } catch (IOException | RuntimeException e) {
+            failures.incrementAndGet();
+            line.put("error", String.valueOf(e));
+        } finally {
+            if (acquired) {
+                inFlight.release();
+            }
+        }
+        line.put("elapsedNanos", System.nanoTime() - start);
+        try {
+            return objectMapper.writeValueAsString(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package org.example.graph.cache;
+
+import org.example.graph.dagsp.PathResult;
+import org.example.graph.models.Edge;
+import org.example.graph.models.Graph;
+import org.example.graph.models.GraphView;
+import org.example.graph.pipeline.AnalysisPipeline;
+import org.example.graph.pipeline.AnalysisResult;
+import org.example.graph.scc.SCCResult;
+import org.example.graph.topo.TopologicalSortResult;
+import org.example.graph.util.AnalysisWorkspace;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-level cache of analysis results keyed by graph fingerprint.
+ * The first level is an LRU map in memory bounded by the estimated retained bytes of its entries; the optional
+ * second level keeps one compact binary file per fingerprint in a directory, so unchanged graphs skip the
+ * analysis across runs too. Entries hold only what the analysis produced, never the input graph: a hit is
+ * attached to the caller's graph. Cached results carry no phase metrics: nothing was computed for them.
+ */
+public class ResultCache {
+    private static final int MAGIC = 0x47524331; // "GRC1"
+    private static final int VERSION = 2;
+    private static final String SUFFIX = ".bin";
+
+    private final long maxBytes;
+    private final Path directory;
+    private final LinkedHashMap<String, Entry> entries; // guarded by itself
+    private long retainedBytes; // guarded by entries
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * An analysis result without its graph, with its estimated size
+     */
+    private record Entry(SCCResult sccResult, TopologicalSortResult topoResult, PathResult shortestPaths,
+                         PathResult longestPaths, long bytes) {
+
+        static Entry of(AnalysisResult result) {
+            SCCResult scc = result.getSccResult();
+            scc.getCondensationGraph(); // A lazy SCCResult drops its reference to the input once this is built
+            long bytes = scc.estimateRetainedBytes() + result.getTopoResult().estimateRetainedBytes();
+            if (result.getShortestPaths() != null) {
+                bytes += result.getShortestPaths().estimateRetainedBytes();
+            }
+            if (result.getLongestPaths() != null) {
+                bytes += result.getLongestPaths().estimateRetainedBytes();
+            }
+            return new Entry(scc, result.getTopoResult(), result.getShortestPaths(), result.getLongestPaths(), bytes);
+        }
+
+        AnalysisResult attachTo(GraphView graph) {
+            return new AnalysisResult(graph, sccResult, topoResult, shortestPaths, longestPaths, List.of());
+        }
+    }
+
+    /**
+     * Memory-only cache
+     */
+    public ResultCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    /**
+     * @param maxBytes  bound on the estimated retained bytes of the in-memory entries
+     * @param directory where results are persisted, created if missing; null keeps the cache in memory only
+     */
+    public ResultCache(long maxBytes, Path directory) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.directory = directory;
+        // Access-ordered, so the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached result for the graph's fingerprint, or runs the pipeline and caches what it produced
+     */
+    public AnalysisResult analyze(GraphView graph, AnalysisPipeline pipeline, AnalysisWorkspace workspace) {
+        AnalysisResult cached = get(graph);
+        if (cached != null) {
+            return cached;
+        }
+        AnalysisResult result = pipeline.analyze(graph, workspace);
+        put(graph.getFingerprint(), result);
+        return result;
+    }
+
+    public AnalysisResult analyze(GraphView graph, AnalysisPipeline pipeline) {
+        return analyze(graph, pipeline, new AnalysisWorkspace());
+    }
+
+    /**
+     * Looks the graph up in memory, then on disk; null on a miss.
+     * The returned result refers to the given graph, whichever graph first produced it.
+     */
+    public AnalysisResult get(GraphView graph) {
+        String fingerprint = graph.getFingerprint();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(fingerprint);
+        }
+        if (entry != null) {
+            memoryHits.incrementAndGet();
+            return entry.attachTo(graph);
+        }
+
+        AnalysisResult result = readFromDisk(fingerprint, graph);
+        if (result != null) {
+            diskHits.incrementAndGet();
+            putInMemory(fingerprint, Entry.of(result));
+            return result;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the result in memory and, if a directory is configured, on disk
+     */
+    public void put(String fingerprint, AnalysisResult result) {
+        putInMemory(fingerprint, Entry.of(result));
+        if (directory != null) {
+            try {
+                writeToDisk(fingerprint, result);
+            } catch (IOException e) {
+                // The disk level is best effort; the result is still cached in memory
+                System.err.println("Could not persist cached result " + fingerprint + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Estimated bytes retained by the in-memory entries
+     */
+    public long getRetainedBytes() {
+        synchronized (entries) {
+            return retainedBytes;
+        }
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    // Evicts least recently used entries until the new one fits; an entry larger than the bound is not kept
+    private void putInMemory(String fingerprint, Entry entry) {
+        synchronized (entries) {
+            Entry previous = entries.remove(fingerprint);
+            if (previous != null) {
+                retainedBytes -= previous.bytes();
+            }
+            if (entry.bytes() > maxBytes) {
+                return;
+            }
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (retainedBytes + entry.bytes() > maxBytes && eldest.hasNext()) {
+                retainedBytes -= eldest.next().bytes();
+                eldest.remove();
+            }
+            entries.put(fingerprint, entry);
+            retainedBytes += entry.bytes();
+        }
+    }
+
+    // Written to a temporary file and moved into place, so concurrent readers never see a partial file
+    private void writeToDisk(String fingerprint, AnalysisResult result) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(fingerprint + SUFFIX);
+        Path temp = Files.createTempFile(directory, fingerprint, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(out, result);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private AnalysisResult readFromDisk(String fingerprint, GraphView graph) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(fingerprint + SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return read(in, graph, Files.size(file));
+        } catch (IOException | RuntimeException e) {
+            // A corrupt or outdated file is treated as a miss and overwritten by the next put
+            return null;
+        }
+    }
+
+    // Layout: header, SCCs, condensation graph, topological order, shortest and longest paths
+
+    private static void write(DataOutputStream out, AnalysisResult result) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        SCCResult scc = result.getSccResult();
+        writeInts(out, scc.getComponentOffsets());
+        writeInts(out, scc.getMembers());
+        writeInts(out, scc.getComponentId());
+
+        Graph condensation = scc.getCondensationGraph();
+        out.writeInt(condensation.getN());
+        out.writeInt(condensation.getSource());
+        out.writeUTF(condensation.getWeightModel() == null ? "" : condensation.getWeightModel());
+        List<Edge> edges = condensation.getEdges();
+        out.writeInt(edges.size());
+        for (Edge edge : edges) {
+            out.writeInt(edge.getU());
+            out.writeInt(edge.getV());
+            out.writeInt(edge.getW());
+        }
+        int[] nodeWeights = condensation.getNodeWeights();
+        out.writeInt(nodeWeights == null ? -1 : nodeWeights.length);
+        if (nodeWeights != null) {
+            for (int weight : nodeWeights) {
+                out.writeInt(weight);
+            }
+        }
+
+        TopologicalSortResult topo = result.getTopoResult();
+        out.writeBoolean(topo.hasCycle());
+        writeInts(out, topo.getComponentOrderArray());
+        writeInts(out, topo.getVertexOrderArray());
+
+        writePaths(out, result.getShortestPaths());
+        writePaths(out, result.getLongestPaths());
+    }
+
+    /**
+     * Every length is checked before anything is allocated: against the graph the entry belongs to (no array is
+     * longer than one slot per vertex, the condensation has no more edges than the graph) and against the file
+     * size, so a corrupt length is an IOException rather than an OutOfMemoryError.
+     */
+    private static AnalysisResult read(DataInputStream in, GraphView graph, long fileSize) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a cached result of this version");
+        }
+        int maxInts = (int) Math.min(Integer.MAX_VALUE, fileSize / Integer.BYTES);
+        int vertices = Math.min(Math.max(0, graph.getN()), maxInts);
+
+        int[] componentOffsets = readIntArray(in, vertices + 1);
+        int[] members = readIntArray(in, vertices);
+        int[] componentId = readIntArray(in, vertices);
+
+        int n = readLength(in, vertices);
+        int source = in.readInt();
+        String weightModel = in.readUTF();
+        int edgeCount = readLength(in, Math.min(graph.getEdges().size(), maxInts / 3));
+        List<Edge> edges = new ArrayList<>(edgeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            edges.add(new Edge(in.readInt(), in.readInt(), in.readInt()));
+        }
+        int weightCount = in.readInt();
+        int[] nodeWeights = null;
+        if (weightCount >= 0) {
+            if (weightCount != n) {
+                throw new IOException("Corrupt cache entry: " + weightCount + " node weights for " + n + " vertices");
+            }
+            nodeWeights = new int[n];
+            for (int i = 0; i < n; i++) {
+                nodeWeights[i] = in.readInt();
+            }
+        }
+        Graph condensation = new Graph(true, n, edges, source, weightModel.isEmpty() ? null : weightModel,
+                nodeWeights);
+        if (graph.getName() != null) {
+            condensation.setName(graph.getName() + "#condensation");
+        }
+
+        boolean hasCycle = in.readBoolean();
+        TopologicalSortResult topo = new TopologicalSortResult(readIntArray(in, vertices),
+                readIntArray(in, vertices), hasCycle);
+
+        PathResult shortest = readPaths(in, true, vertices);
+        PathResult longest = readPaths(in, false, vertices);
+        return new AnalysisResult(graph, new SCCResult(componentOffsets, members, condensation, componentId), topo,
+                shortest, longest, List.of());
+    }
+
+    // A missing path result (cyclic order or source outside the graph) is stored as a single false
+    private static void writePaths(DataOutputStream out, PathResult paths) throws IOException {
+        out.writeBoolean(paths != null);
+        if (paths == null) {
+            return;
+        }
+        out.writeInt(paths.getSource());
+        out.writeInt(paths.getCriticalPathLength());
+        writeMap(out, paths.getDistances());
+        writeMap(out, paths.getPredecessors());
+        writeInts(out, paths.getCriticalPath());
+    }
+
+    // Distances hold every vertex plus a source outside the graph; a path visits each vertex at most once
+    private static PathResult readPaths(DataInputStream in, boolean shortest, int vertices) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int source = in.readInt();
+        int criticalPathLength = in.readInt();
+        Map<Integer, Integer> distances = readMap(in, vertices + 1);
+        Map<Integer, Integer> predecessors = readMap(in, vertices);
+        List<Integer> criticalPath = readInts(in, vertices);
+        return new PathResult(distances, predecessors, criticalPath, criticalPathLength, source, shortest);
+    }
+
+    private static void writeMap(DataOutputStream out, Map<Integer, Integer> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    private static Map<Integer, Integer> readMap(DataInputStream in, int maxSize) throws IOException {
+        int size = readLength(in, maxSize);
+        Map<Integer, Integer> map = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+        for (int i = 0; i < size; i++) {
+            map.put(in.readInt(), in.readInt());
+        }
+        return map;
+    }
+
+    private static void writeInts(DataOutputStream out, List<Integer> values) throws IOException {
+        out.writeInt(values.size());
+        for (int i = 0, size = values.size(); i < size; i++) {
+            out.writeInt(values.get(i));
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readIntArray(DataInputStream in, int maxLength) throws IOException {
+        int[] values = new int[readLength(in, maxLength)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static List<Integer> readInts(DataInputStream in, int maxSize) throws IOException {
+        int size = readLength(in, maxSize);
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readInt());
+        }
+        return values;
+    }
+
+    private static int readLength(DataInputStream in, int max) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > max) {
+            throw new IOException("Corrupt cache entry: length " + length + " outside [0, " + max + "]");
+        }
+        return length;
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.graph.dagsp;
+
+import org.example.graph.metrics.Metrics;
+import org.example.graph.metrics.jfr.PathPhaseEvent;
+import org.example.graph.models.Edge;
+import org.example.graph.models.GraphView;
+import org.example.graph.topo.TopologicalSortResult;
+
+import java.util.List;
+
+/**
+ * Counts optimal paths and collects the k best paths per vertex in one topological sweep.
+ * All per-vertex lists live in flat primitive arrays of n*k slots, so memory is O(k*n)
+ * and known up front regardless of graph shape.
+ */
+public class DAGKBestPaths {
+    private final long countModulus; // 0 = saturating counts
+    private final Metrics metrics;
+
+    /**
+     * Creates an engine whose path counts saturate at Long.MAX_VALUE
+     */
+    public DAGKBestPaths() {
+        this(0);
+    }
+
+    /**
+     * Creates an engine whose path counts are reduced modulo countModulus (0 = saturating)
+     */
+    public DAGKBestPaths(long countModulus) {
+        this(countModulus, Metrics.create("DAGKBestPaths"));
+    }
+
+    public DAGKBestPaths(long countModulus, Metrics metrics) {
+        if (countModulus < 0) {
+            throw new IllegalArgumentException("Count modulus must be non-negative: " + countModulus);
+        }
+        this.countModulus = countModulus;
+        this.metrics = metrics;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Computes k shortest paths and shortest-path counts from source
+     */
+    public KBestPathResult kShortestPaths(GraphView dag, TopologicalSortResult topoResult, int source, int k) {
+        return compute(dag, topoResult, source, k, true);
+    }
+
+    /**
+     * Computes k longest paths and longest-path counts from source
+     */
+    public KBestPathResult kLongestPaths(GraphView dag, TopologicalSortResult topoResult, int source, int k) {
+        return compute(dag, topoResult, source, k, false);
+    }
+
+    private KBestPathResult compute(GraphView dag, TopologicalSortResult topoResult, int source, int k, boolean shortest) {
+        metrics.reset();
+        metrics.startTimer();
+        PathPhaseEvent event = new PathPhaseEvent(shortest ? "k-shortest" : "k-longest", source);
+        event.begin();
+
+        if (dag == null || topoResult == null || !topoResult.isValid()) {
+            throw new IllegalArgumentException("Invalid input: DAG must be valid and topologically sorted");
+        }
+        int n = dag.getN();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Invalid source vertex: " + source);
+        }
+        if (k <= 0 || (long) n * k > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid k for " + n + " vertices: " + k);
+        }
+
+        // Longest paths are computed as shortest paths over negated weights, so the sweep only minimizes
+        long sign = shortest ? 1 : -1;
+        long[] distances = new long[n * k];
+        int[] predVertex = new int[n * k];
+        int[] predRank = new int[n * k];
+        int[] sizes = new int[n];
+        long[] counts = new long[n];
+        int[] nodeWeights = dag.isNodeWeighted() ? dag.getNodeWeights() : null;
+
+        int sourceSlot = source * k;
+        distances[sourceSlot] = nodeWeights != null ? sign * nodeWeights[source] : 0;
+        predVertex[sourceSlot] = -1;
+        predRank[sourceSlot] = -1;
+        sizes[source] = 1;
+        counts[source] = countModulus == 1 ? 0 : 1;
+
+        int[] topologicalOrder = topoResult.getVertexOrderArray();
+        for (int i = 0, size = topologicalOrder.length; i < size; i++) {
+            int u = topologicalOrder[i];
+            metrics.incrementVerticesVisited();
+
+            int uSize = sizes[u];
+            if (uSize == 0) {
+                continue; // Unreachable
+            }
+            int uBase = u * k;
+
+            for (Edge edge : dag.getOutgoingEdges(u)) {
+                metrics.incrementEdgesRelaxed();
+                int v = edge.getV();
+                long weight = sign * (nodeWeights != null ? nodeWeights[v] : edge.getW());
+                int vBase = v * k;
+
+                // Optimal-path count: only u's best entry can extend to v's best
+                long best = DAGShortestLongestPaths64.saturatingAdd(distances[uBase], weight);
+                if (sizes[v] == 0 || best < distances[vBase]) {
+                    counts[v] = counts[u];
+                } else if (best == distances[vBase]) {
+                    counts[v] = addCounts(counts[v], counts[u]);
+                }
+
+                // u's entries are sorted, so once one misses v's full list every later one does too
+                for (int r = 0; r < uSize; r++) {
+                    long candidate = DAGShortestLongestPaths64.saturatingAdd(distances[uBase + r], weight);
+                    if (!insert(distances, predVertex, predRank, sizes, vBase, v, k, candidate, u, r)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (!shortest) {
+            for (int v = 0; v < n; v++) {
+                int base = v * k;
+                for (int r = 0; r < sizes[v]; r++) {
+                    distances[base + r] = -distances[base + r];
+                }
+            }
+        }
+
+        metrics.stopTimer();
+        event.commitFor(dag, metrics);
+        return new KBestPathResult(n, k, distances, predVertex, predRank, sizes, counts, source, shortest);
+    }
+
+    // Inserts the candidate into v's sorted list; ties keep insertion order. Returns false if it did not fit.
+    private static boolean insert(long[] distances, int[] predVertex, int[] predRank, int[] sizes,
+                                  int base, int v, int k, long candidate, int u, int rank) {
+        int size = sizes[v];
+        int pos = size;
+        while (pos > 0 && candidate < distances[base + pos - 1]) {
+            pos--;
+        }
+        if (pos >= k) {
+            return false;
+        }
+
+        int last = Math.min(size, k - 1);
+        System.arraycopy(distances, base + pos, distances, base + pos + 1, last - pos);
+        System.arraycopy(predVertex, base + pos, predVertex, base + pos + 1, last - pos);
+        System.arraycopy(predRank, base + pos, predRank, base + pos + 1, last - pos);
+
+        distances[base + pos] = candidate;
+        predVertex[base + pos] = u;
+        predRank[base + pos] = rank;
+        if (size < k) {
+            sizes[v] = size + 1;
+        }
+        return true;
+    }
+
+    private long addCounts(long a, long b) {
+        long sum = a + b;
+        if (countModulus == 0) {
+            return sum < 0 ? Long.MAX_VALUE : sum; // Counts are non-negative, so wrap-around means overflow
+        }
+        // a, b < countModulus: one subtraction suffices, and is correct even if the sum wrapped
+        return Long.compareUnsigned(sum, countModulus) >= 0 ? sum - countModulus : sum;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.graph.dagsp;
+
+import org.example.graph.metrics.Metrics;
+import org.example.graph.metrics.jfr.PathPhaseEvent;
+import org.example.graph.models.CompressedAdjacency;
+import org.example.graph.models.GraphView;
+import org.example.graph.topo.TopologicalSortResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-target shortest/longest distances in a DAG.
+ * Sweeps the reverse topological order over the graph's in-edge CSR, so "distance to sink"
+ * for every vertex costs one linear pass instead of one forward run per vertex.
+ */
+public class DAGPathsToTarget {
+    private static final long INFINITY = PathResult64.UNREACHABLE;
+    private static final long NEG_INFINITY = PathResult64.NEG_UNREACHABLE;
+    private final Metrics metrics;
+
+    public DAGPathsToTarget() {
+        this(Metrics.create("DAGPathsToTarget"));
+    }
+
+    public DAGPathsToTarget(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Computes the shortest distance from every vertex to target
+     */
+    public TargetPathResult shortestPathsToTarget(GraphView dag, TopologicalSortResult topoResult, int target) {
+        return compute(dag, topoResult, target, true);
+    }
+
+    /**
+     * Computes the longest distance from every vertex to target (e.g. remaining critical path)
+     */
+    public TargetPathResult longestPathsToTarget(GraphView dag, TopologicalSortResult topoResult, int target) {
+        return compute(dag, topoResult, target, false);
+    }
+
+    private TargetPathResult compute(GraphView dag, TopologicalSortResult topoResult, int target, boolean shortest) {
+        metrics.reset();
+        metrics.startTimer();
+        PathPhaseEvent event = new PathPhaseEvent(shortest ? "shortest-to-target" : "longest-to-target", target);
+        event.begin();
+
+        if (dag == null || topoResult == null || !topoResult.isValid()) {
+            throw new IllegalArgumentException("Invalid input: DAG must be valid and topologically sorted");
+        }
+        int n = dag.getN();
+        if (target < 0 || target >= n) {
+            throw new IllegalArgumentException("Invalid target vertex: " + target);
+        }
+
+        long unreached = shortest ? INFINITY : NEG_INFINITY;
+        long[] distances = new long[n];
+        int[] successors = new int[n];
+        Arrays.fill(distances, unreached);
+        Arrays.fill(successors, PathResult64.NO_PREDECESSOR);
+        // Node-weighted graphs charge the weight of the vertex being left, so the target pays its own
+        int[] nodeWeights = dag.isNodeWeighted() ? dag.getNodeWeights() : null;
+        distances[target] = nodeWeights != null ? nodeWeights[target] : 0;
+
+        CompressedAdjacency incoming = dag.getReverseAdjacency();
+        int[] offsets = incoming.getOffsets();
+        int[] sources = incoming.getNeighbors();
+        int[] weights = incoming.getWeights();
+
+        int[] topologicalOrder = topoResult.getVertexOrderArray();
+        for (int i = topologicalOrder.length - 1; i >= 0; i--) {
+            int v = topologicalOrder[i];
+            metrics.incrementVerticesVisited();
+
+            long dv = distances[v];
+            if (dv == unreached) {
+                continue;
+            }
+
+            int end = offsets[v + 1];
+            metrics.incrementEdgesRelaxed(end - offsets[v]);
+            for (int e = offsets[v]; e < end; e++) {
+                int u = sources[e];
+                long candidate = DAGShortestLongestPaths64.saturatingAdd(dv,
+                        nodeWeights != null ? nodeWeights[u] : weights[e]);
+                if (shortest ? candidate < distances[u] : candidate > distances[u]) {
+                    distances[u] = candidate;
+                    successors[u] = v;
+                }
+            }
+        }
+
+        metrics.stopTimer();
+        event.commitFor(dag, metrics);
+        return new TargetPathResult(distances, successors, target, shortest);
+    }
+}
@@ -1,20 +1,43 @@
 package org.example.graph.dagsp;
 
+import org.example.graph.metrics.LocalMetrics;
 import org.example.graph.metrics.Metrics;
-import org.example.graph.models.Graph;
+import org.example.graph.metrics.jfr.PathPhaseEvent;
+import org.example.graph.models.GraphView;
 import org.example.graph.models.Edge;
 import org.example.graph.topo.TopologicalSortResult;
+import org.example.graph.trace.AlgorithmListener;
+import org.example.graph.util.AnalysisWorkspace;
 
 import java.util.*;
 
 public class DAGShortestLongestPaths {
     private static final int INFINITY = Integer.MAX_VALUE; // Avoid overflow
     private static final int NEG_INFINITY = Integer.MIN_VALUE;
-    private Metrics metrics;
+    private final Metrics metrics;
+    private final AlgorithmListener listener;
+    private final AnalysisWorkspace workspace;
 
 
     public DAGShortestLongestPaths() {
-        this.metrics = new Metrics("DAGShortestLongestPaths");
+        this(Metrics.create("DAGShortestLongestPaths"));
+    }
+
+    public DAGShortestLongestPaths(Metrics metrics) {
+        this(metrics, AlgorithmListener.NONE);
+    }
+
+    public DAGShortestLongestPaths(Metrics metrics, AlgorithmListener listener) {
+        this(metrics, listener, new AnalysisWorkspace());
+    }
+
+    /**
+     * Relaxes edges over distance and predecessor arrays from the workspace; only the result maps are allocated
+     */
+    public DAGShortestLongestPaths(Metrics metrics, AlgorithmListener listener, AnalysisWorkspace workspace) {
+        this.metrics = metrics;
+        this.listener = listener;
+        this.workspace = workspace;
     }
 
     public Metrics getMetrics() {
@@ -24,56 +47,69 @@ public class DAGShortestLongestPaths {
     /**
      * Computes shortest paths from source in a DAG using topological order
      */
-    public PathResult shortestPathsFromSource(Graph dag, TopologicalSortResult topoResult, int source) {
-        metrics.startTimer();
+    public PathResult shortestPathsFromSource(GraphView dag, TopologicalSortResult topoResult, int source) {
         metrics.reset();
+        metrics.startTimer();
+        PathPhaseEvent event = new PathPhaseEvent("shortest", source);
+        event.begin();
 
         if (dag == null || topoResult == null || !topoResult.isValid()) {
             throw new IllegalArgumentException("Invalid input: DAG must be valid and topologically sorted");
         }
 
         int n = dag.getN();
-        Map<Integer, Integer> distances = new HashMap<>();
-        Map<Integer, Integer> predecessors = new HashMap<>();
+        int[] dist = workspace.ints(AnalysisWorkspace.Slot.DISTANCES, n);
+        int[] pred = workspace.ints(AnalysisWorkspace.Slot.PREDECESSORS, n);
+        // Node-weighted graphs add the weight of the vertex being entered instead of the edge weight
+        int[] nodeWeights = dag.isNodeWeighted() ? dag.getNodeWeights() : null;
 
         // Initialize distances
-        for (int i = 0; i < n; i++) {
-            distances.put(i, INFINITY);
-            metrics.incrementVerticesVisited(); // Count initialization
+        Arrays.fill(dist, 0, n, INFINITY);
+        Arrays.fill(pred, 0, n, -1);
+        metrics.incrementVerticesVisited(n); // Count initialization
+        int sourceDistance = 0; // Also reported for a source outside the graph
+        if (source >= 0 && source < n) {
+            sourceDistance = nodeWeights != null ? nodeWeights[source] : 0;
+            dist[source] = sourceDistance;
         }
-        distances.put(source, 0);
 
-        List<Integer> topologicalOrder = topoResult.getVertexOrder();
+        int[] topologicalOrder = topoResult.getVertexOrderArray();
 
         // Process vertices in topological order
-        for (int u : topologicalOrder) {
+        for (int i = 0, size = topologicalOrder.length; i < size; i++) {
+            int u = topologicalOrder[i];
             metrics.incrementVerticesVisited(); // Count vertex processing
 
-            if (distances.get(u) != INFINITY) {
+            int du = dist[u];
+            if (du != INFINITY) {
                 // Relax all outgoing edges from u
                 for (Edge edge : dag.getOutgoingEdges(u)) {
                     metrics.incrementEdgesRelaxed(); // COUNT THIS METRIC!
 
                     int v = edge.getV();
-                    int weight = edge.getW();
+                    int weight = nodeWeights != null ? nodeWeights[v] : edge.getW();
+                    listener.edgeRelaxed(u, v, weight);
 
                     // Check for integer overflow
-                    if (distances.get(u) > 0 && weight > INFINITY - distances.get(u)) {
+                    if (du > 0 && weight > INFINITY - du) {
                         continue; // Skip to avoid overflow
                     }
 
-                    int newDistance = distances.get(u) + weight;
+                    int newDistance = du + weight;
 
-                    if (newDistance < distances.get(v)) {
-                        distances.put(v, newDistance);
-                        predecessors.put(v, u);
+                    if (newDistance < dist[v]) {
+                        dist[v] = newDistance;
+                        pred[v] = u;
                     }
                 }
             }
         }
 
+        Map<Integer, Integer> distances = toDistanceMap(dist, n, source, sourceDistance);
+        Map<Integer, Integer> predecessors = toPredecessorMap(pred, n);
+
         // Find the reachable vertex with maximum distance (critical path for shortest paths context)
-        int maxDistance = 0;
+        int maxDistance = distances.get(source);
         int criticalVertex = source;
         List<Integer> criticalPath = new ArrayList<>();
 
@@ -106,50 +142,71 @@ public class DAGShortestLongestPaths {
 
         // Ensure critical path length is correct
         if (criticalPath.size() == 1 && criticalPath.get(0) == source) {
-            maxDistance = 0;
+            maxDistance = distances.get(source);
         }
 
+        PathResult result = new PathResult(distances, predecessors, criticalPath, maxDistance, source, true);
+        metrics.recordRetainedBytes(result.estimateRetainedBytes());
         metrics.stopTimer();
-        return new PathResult(distances, predecessors, criticalPath, maxDistance, source, true);
+        event.commitFor(dag, metrics);
+        return result;
     }
 
     /**
      * Computes longest paths from source in a DAG using topological order
      */
-    public PathResult longestPathsFromSource(Graph dag, TopologicalSortResult topoResult, int source) {
+    public PathResult longestPathsFromSource(GraphView dag, TopologicalSortResult topoResult, int source) {
+        metrics.reset();
+        metrics.startTimer();
+        PathPhaseEvent event = new PathPhaseEvent("longest", source);
+        event.begin();
+
         if (dag == null || topoResult == null || !topoResult.isValid()) {
             throw new IllegalArgumentException("Invalid input: DAG must be valid and topologically sorted");
         }
 
         int n = dag.getN();
-        Map<Integer, Integer> distances = new HashMap<>();
-        Map<Integer, Integer> predecessors = new HashMap<>();
+        int[] dist = workspace.ints(AnalysisWorkspace.Slot.DISTANCES, n);
+        int[] pred = workspace.ints(AnalysisWorkspace.Slot.PREDECESSORS, n);
+        int[] nodeWeights = dag.isNodeWeighted() ? dag.getNodeWeights() : null;
 
         // Initialize distances to negative infinity
-        for (int i = 0; i < n; i++) {
-            distances.put(i, NEG_INFINITY);
+        Arrays.fill(dist, 0, n, NEG_INFINITY);
+        Arrays.fill(pred, 0, n, -1);
+        metrics.incrementVerticesVisited(n); // Count initialization
+        int sourceDistance = 0; // Also reported for a source outside the graph
+        if (source >= 0 && source < n) {
+            sourceDistance = nodeWeights != null ? nodeWeights[source] : 0;
+            dist[source] = sourceDistance;
         }
-        distances.put(source, 0);
 
-        List<Integer> topologicalOrder = topoResult.getVertexOrder();
+        int[] topologicalOrder = topoResult.getVertexOrderArray();
 
         // Process vertices in topological order
-        for (int u : topologicalOrder) {
-            if (distances.get(u) != NEG_INFINITY) {
+        for (int i = 0, size = topologicalOrder.length; i < size; i++) {
+            int u = topologicalOrder[i];
+            metrics.incrementVerticesVisited(); // Count vertex processing
+            int du = dist[u];
+            if (du != NEG_INFINITY) {
                 // Relax all outgoing edges from u (maximizing)
                 for (Edge edge : dag.getOutgoingEdges(u)) {
+                    metrics.incrementEdgesRelaxed();
                     int v = edge.getV();
-                    int weight = edge.getW();
-                    int newDistance = distances.get(u) + weight;
+                    int weight = nodeWeights != null ? nodeWeights[v] : edge.getW();
+                    listener.edgeRelaxed(u, v, weight);
+                    int newDistance = du + weight;
 
-                    if (newDistance > distances.get(v)) {
-                        distances.put(v, newDistance);
-                        predecessors.put(v, u);
+                    if (newDistance > dist[v]) {
+                        dist[v] = newDistance;
+                        pred[v] = u;
                     }
                 }
             }
         }
 
+        Map<Integer, Integer> distances = toDistanceMap(dist, n, source, sourceDistance);
+        Map<Integer, Integer> predecessors = toPredecessorMap(pred, n);
+
         // Find the vertex with maximum distance (critical path)
         int maxDistance = NEG_INFINITY;
         int criticalVertex = source;
@@ -162,13 +219,18 @@ public class DAGShortestLongestPaths {
             }
         }
 
-        // Simple path reconstruction
+        // Simple path reconstruction, bounded by n steps: inside an SCC the vertex order is not
+        // a true topological order, so predecessors can form a cycle on cyclic inputs
         if (criticalVertex != source) {
             Integer current = criticalVertex;
-            while (current != null && current != source) {
+            int steps = 0;
+            while (current != null && current != source && steps++ <= n) {
                 criticalPath.add(0, current);
                 current = predecessors.get(current);
             }
+            if (current == null || current != source) {
+                criticalPath.clear();
+            }
             criticalPath.add(0, source);
         } else {
             criticalPath.add(source);
@@ -179,16 +241,46 @@ public class DAGShortestLongestPaths {
             maxDistance = 0;
         }
 
-        return new PathResult(distances, predecessors, criticalPath, maxDistance, source, false);
+        PathResult result = new PathResult(distances, predecessors, criticalPath, maxDistance, source, false);
+        metrics.recordRetainedBytes(result.estimateRetainedBytes());
+        metrics.stopTimer();
+        event.commitFor(dag, metrics);
+        return result;
+    }
+
+    // Result maps built once from the scratch arrays; a source outside the graph keeps its own entry
+    private static Map<Integer, Integer> toDistanceMap(int[] dist, int n, int source, int sourceDistance) {
+        Map<Integer, Integer> distances = new HashMap<>();
+        for (int v = 0; v < n; v++) {
+            distances.put(v, dist[v]);
+        }
+        if (source < 0 || source >= n) {
+            distances.put(source, sourceDistance);
+        }
+        return distances;
+    }
+
+    private static Map<Integer, Integer> toPredecessorMap(int[] pred, int n) {
+        Map<Integer, Integer> predecessors = new HashMap<>();
+        for (int v = 0; v < n; v++) {
+            if (pred[v] != -1) {
+                predecessors.put(v, pred[v]);
+            }
+        }
+        return predecessors;
     }
 
     /**
-     * Computes both shortest and longest paths in one pass
+     * Computes both shortest and longest paths; afterwards the metrics cover both passes as one phase,
+     * while each pass's event carries only its own counters
      */
-    public Map<String, PathResult> computeAllPaths(Graph dag, TopologicalSortResult topoResult, int source) {
+    public Map<String, PathResult> computeAllPaths(GraphView dag, TopologicalSortResult topoResult, int source) {
         Map<String, PathResult> results = new HashMap<>();
         results.put("shortest", shortestPathsFromSource(dag, topoResult, source));
+        Metrics shortestPass = new LocalMetrics(metrics.getAlgorithmName());
+        shortestPass.accumulate(metrics); // The longest pass resets the metrics
         results.put("longest", longestPathsFromSource(dag, topoResult, source));
+        metrics.accumulate(shortestPass);
         return results;
     }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package org.example.graph.dagsp;
+
+import org.example.graph.metrics.Metrics;
+import org.example.graph.metrics.jfr.PathPhaseEvent;
+import org.example.graph.models.Edge;
+import org.example.graph.models.GraphView;
+import org.example.graph.topo.TopologicalSortResult;
+
+import java.util.*;
+
+/**
+ * 64-bit variant of {@link DAGShortestLongestPaths}.
+ * Distances are kept in a primitive long[] and every relaxation saturates instead of wrapping,
+ * so long chains of large weights can never silently overflow.
+ */
+public class DAGShortestLongestPaths64 {
+    private static final long INFINITY = PathResult64.UNREACHABLE;
+    private static final long NEG_INFINITY = PathResult64.NEG_UNREACHABLE;
+    // Saturation bounds stay one step away from the sentinels so a saturated distance is still "reachable"
+    static final long MAX_FINITE = Long.MAX_VALUE - 1;
+    static final long MIN_FINITE = Long.MIN_VALUE + 1;
+
+    private final Metrics metrics;
+
+    public DAGShortestLongestPaths64() {
+        this(Metrics.create("DAGShortestLongestPaths64"));
+    }
+
+    public DAGShortestLongestPaths64(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Adds two values, clamping the result to [MIN_FINITE, MAX_FINITE], so no sum ever equals a sentinel.
+     * Branch-free: the overflow mask selects between the raw sum and the saturated bound, and the final
+     * min/max compile to conditional moves.
+     */
+    static long saturatingAdd(long a, long b) {
+        long r = a + b;
+        // Overflow iff both operands share a sign that the result does not
+        long overflow = ((a ^ r) & (b ^ r)) >> 63;
+        long saturated = (a >> 63) ^ MAX_FINITE; // MAX_FINITE for a >= 0, MIN_FINITE for a < 0
+        long sum = (r & ~overflow) | (saturated & overflow);
+        // A sum can land exactly on Long.MAX_VALUE or MIN_VALUE without overflowing, e.g. MAX_FINITE + 1
+        return Math.min(MAX_FINITE, Math.max(MIN_FINITE, sum));
+    }
+
+    /**
+     * Computes shortest paths from source in a DAG using topological order
+     */
+    public PathResult64 shortestPathsFromSource(GraphView dag, TopologicalSortResult topoResult, int source) {
+        metrics.reset();
+        metrics.startTimer();
+        PathPhaseEvent event = new PathPhaseEvent("shortest64", source);
+        event.begin();
+
+        validateInput(dag, topoResult, source);
+
+        int n = dag.getN();
+        long[] distances = new long[n];
+        int[] predecessors = new int[n];
+        Arrays.fill(distances, INFINITY);
+        Arrays.fill(predecessors, PathResult64.NO_PREDECESSOR);
+        metrics.incrementVerticesVisited(n); // Count initialization
+        // Node-weighted graphs add the weight of the vertex being entered instead of the edge weight
+        int[] nodeWeights = dag.isNodeWeighted() ? dag.getNodeWeights() : null;
+        distances[source] = nodeWeights != null ? nodeWeights[source] : 0;
+
+        int[] topologicalOrder = topoResult.getVertexOrderArray();
+        for (int i = 0, size = topologicalOrder.length; i < size; i++) {
+            int u = topologicalOrder[i];
+            metrics.incrementVerticesVisited();
+
+            long du = distances[u];
+            if (du == INFINITY) {
+                continue; // One check per vertex keeps the edge loop branch-light
+            }
+
+            List<Edge> outgoing = dag.getOutgoingEdges(u);
+            metrics.incrementEdgesRelaxed(outgoing.size());
+            for (int j = 0, deg = outgoing.size(); j < deg; j++) {
+                Edge edge = outgoing.get(j);
+                int v = edge.getV();
+                long newDistance = saturatingAdd(du, nodeWeights != null ? nodeWeights[v] : edge.getW());
+                if (newDistance < distances[v]) {
+                    distances[v] = newDistance;
+                    predecessors[v] = u;
+                }
+            }
+        }
+
+        PathResult64 result = buildResult(distances, predecessors, source, true);
+        metrics.recordRetainedBytes(result.estimateRetainedBytes());
+        metrics.stopTimer();
+        event.commitFor(dag, metrics);
+        return result;
+    }
+
+    /**
+     * Computes longest paths from source in a DAG using topological order
+     */
+    public PathResult64 longestPathsFromSource(GraphView dag, TopologicalSortResult topoResult, int source) {
+        metrics.reset();
+        metrics.startTimer();
+        PathPhaseEvent event = new PathPhaseEvent("longest64", source);
+        event.begin();
+
+        validateInput(dag, topoResult, source);
+
+        int n = dag.getN();
+        long[] distances = new long[n];
+        int[] predecessors = new int[n];
+        Arrays.fill(distances, NEG_INFINITY);
+        Arrays.fill(predecessors, PathResult64.NO_PREDECESSOR);
+        metrics.incrementVerticesVisited(n); // Count initialization
+        int[] nodeWeights = dag.isNodeWeighted() ? dag.getNodeWeights() : null;
+        distances[source] = nodeWeights != null ? nodeWeights[source] : 0;
+
+        int[] topologicalOrder = topoResult.getVertexOrderArray();
+        for (int i = 0, size = topologicalOrder.length; i < size; i++) {
+            int u = topologicalOrder[i];
+            metrics.incrementVerticesVisited();
+
+            long du = distances[u];
+            if (du == NEG_INFINITY) {
+                continue;
+            }
+
+            List<Edge> outgoing = dag.getOutgoingEdges(u);
+            metrics.incrementEdgesRelaxed(outgoing.size());
+            for (int j = 0, deg = outgoing.size(); j < deg; j++) {
+                Edge edge = outgoing.get(j);
+                int v = edge.getV();
+                long newDistance = saturatingAdd(du, nodeWeights != null ? nodeWeights[v] : edge.getW());
+                if (newDistance > distances[v]) {
+                    distances[v] = newDistance;
+                    predecessors[v] = u;
+                }
+            }
+        }
+
+        PathResult64 result = buildResult(distances, predecessors, source, false);
+        metrics.recordRetainedBytes(result.estimateRetainedBytes());
+        metrics.stopTimer();
+        event.commitFor(dag, metrics);
+        return result;
+    }
+
+    /**
+     * Computes both shortest and longest paths
+     */
+    public Map<String, PathResult64> computeAllPaths(GraphView dag, TopologicalSortResult topoResult, int source) {
+        Map<String, PathResult64> results = new HashMap<>();
+        results.put("shortest", shortestPathsFromSource(dag, topoResult, source));
+        results.put("longest", longestPathsFromSource(dag, topoResult, source));
+        return results;
+    }
+
+    private void validateInput(GraphView dag, TopologicalSortResult topoResult, int source) {
+        if (dag == null || topoResult == null || !topoResult.isValid()) {
+            throw new IllegalArgumentException("Invalid input: DAG must be valid and topologically sorted");
+        }
+        if (source < 0 || source >= dag.getN()) {
+            throw new IllegalArgumentException("Invalid source vertex: " + source);
+        }
+    }
+
+    // Picks the reachable vertex with maximum distance and reconstructs the critical path to it
+    private PathResult64 buildResult(long[] distances, int[] predecessors, int source, boolean shortest) {
+        long maxDistance = distances[source];
+        int criticalVertex = source;
+        for (int v = 0; v < distances.length; v++) {
+            long d = distances[v];
+            if (d != INFINITY && d != NEG_INFINITY && d > maxDistance) {
+                maxDistance = d;
+                criticalVertex = v;
+            }
+        }
+
+        PathResult64 partial = new PathResult64(distances, predecessors, List.of(), 0, source, shortest);
+        List<Integer> criticalPath = partial.reconstructPath(criticalVertex);
+        if (criticalPath.isEmpty()) {
+            criticalPath = List.of(source);
+            maxDistance = distances[source];
+        }
+
+        return new PathResult64(distances, predecessors, criticalPath, maxDistance, source, shortest);
+    }
+}
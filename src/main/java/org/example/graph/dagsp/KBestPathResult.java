@@ -0,0 +1,145 @@
+package org.example.graph.dagsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Optimal-path counts and k-best path lists per vertex.
+ * The k entries of vertex v occupy slots [v*k, v*k + size[v]) of the flat arrays, best first.
+ */
+public class KBestPathResult {
+    private final int n;
+    private final int k;
+    private final long[] distances;     // distances[v*k + r] = length of the r-th best path to v
+    private final int[] predVertex;     // vertex preceding v on that path, -1 at the source
+    private final int[] predRank;       // rank of the predecessor's entry the path extends
+    private final int[] sizes;          // number of filled entries per vertex
+    private final long[] optimalCounts; // number of optimal paths per vertex (saturating or modular)
+    private final int source;
+    private final boolean isShortestPath;
+
+    public KBestPathResult(int n, int k, long[] distances, int[] predVertex, int[] predRank, int[] sizes,
+                           long[] optimalCounts, int source, boolean isShortestPath) {
+        this.n = n;
+        this.k = k;
+        this.distances = distances;
+        this.predVertex = predVertex;
+        this.predRank = predRank;
+        this.sizes = sizes;
+        this.optimalCounts = optimalCounts;
+        this.source = source;
+        this.isShortestPath = isShortestPath;
+    }
+
+    // Getters
+    public int getK() {
+        return k;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public boolean isShortestPath() {
+        return isShortestPath;
+    }
+
+    public boolean isReachable(int vertex) {
+        return sizes[vertex] > 0;
+    }
+
+    /**
+     * Number of optimal (shortest or longest) paths from the source to the vertex
+     */
+    public long getOptimalPathCount(int vertex) {
+        return optimalCounts[vertex];
+    }
+
+    /**
+     * Number of k-best entries found for the vertex (at most k)
+     */
+    public int getPathCount(int vertex) {
+        return sizes[vertex];
+    }
+
+    /**
+     * Length of the optimal path to the vertex
+     */
+    public long getBestDistance(int vertex) {
+        return getDistance(vertex, 0);
+    }
+
+    /**
+     * Length of the rank-th best path to the vertex (rank 0 is the optimum)
+     */
+    public long getDistance(int vertex, int rank) {
+        checkEntry(vertex, rank);
+        return distances[vertex * k + rank];
+    }
+
+    /**
+     * Lengths of all k-best paths to the vertex, best first
+     */
+    public long[] getKBestDistances(int vertex) {
+        int base = vertex * k;
+        return Arrays.copyOfRange(distances, base, base + sizes[vertex]);
+    }
+
+    /**
+     * Reconstructs the rank-th best path from source to target
+     */
+    public List<Integer> reconstructPath(int target, int rank) {
+        checkEntry(target, rank);
+
+        List<Integer> path = new ArrayList<>();
+        int vertex = target;
+        int r = rank;
+        // Bounded walk: each step moves one vertex back towards the source
+        for (int steps = 0; vertex != -1 && steps <= n; steps++) {
+            path.add(vertex);
+            int slot = vertex * k + r;
+            vertex = predVertex[slot];
+            r = predRank[slot];
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Reconstructs all k-best paths to the target, best first
+     */
+    public List<List<Integer>> getKBestPaths(int target) {
+        List<List<Integer>> paths = new ArrayList<>(sizes[target]);
+        for (int r = 0; r < sizes[target]; r++) {
+            paths.add(reconstructPath(target, r));
+        }
+        return paths;
+    }
+
+    private void checkEntry(int vertex, int rank) {
+        if (vertex < 0 || vertex >= n) {
+            throw new IllegalArgumentException("Invalid vertex: " + vertex);
+        }
+        if (rank < 0 || rank >= sizes[vertex]) {
+            throw new IllegalArgumentException("No path of rank " + rank + " to vertex " + vertex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(isShortestPath ? "K-Shortest" : "K-Longest").append(" Paths from source ").append(source)
+                .append(" (k=").append(k).append("):\n");
+        for (int v = 0; v < n; v++) {
+            if (!isReachable(v)) {
+                sb.append("  Vertex ").append(v).append(": UNREACHABLE\n");
+            } else {
+                sb.append("  Vertex ").append(v).append(": ").append(Arrays.toString(getKBestDistances(v)))
+                        .append(" (optimal paths: ").append(optimalCounts[v]).append(")\n");
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,7 +1,8 @@
 package org.example.graph.dagsp;
 
 import org.example.graph.metrics.Metrics;
-import org.example.graph.models.Graph;
+import org.example.graph.metrics.QueryLatencies;
+import org.example.graph.models.GraphView;
 import org.example.graph.topo.TopologicalSortResult;
 
 import java.util.List;
@@ -13,25 +14,101 @@ public class PathFinder {
     /**
      * Computes shortest paths from source in DAG
      */
-    public static PathResult findShortestPaths(Graph dag, TopologicalSortResult topoResult, int source) {
+    public static PathResult findShortestPaths(GraphView dag, TopologicalSortResult topoResult, int source) {
+        long start = System.nanoTime();
         DAGShortestLongestPaths pathFinder = new DAGShortestLongestPaths();
-        return pathFinder.shortestPathsFromSource(dag, topoResult, source);
+        PathResult result = pathFinder.shortestPathsFromSource(dag, topoResult, source);
+        QueryLatencies.PATHS.recordSince(start);
+        return result;
     }
 
     /**
      * Computes longest paths from source in DAG
      */
-    public static PathResult findLongestPaths(Graph dag, TopologicalSortResult topoResult, int source) {
+    public static PathResult findLongestPaths(GraphView dag, TopologicalSortResult topoResult, int source) {
+        long start = System.nanoTime();
         DAGShortestLongestPaths pathFinder = new DAGShortestLongestPaths();
-        return pathFinder.longestPathsFromSource(dag, topoResult, source);
+        PathResult result = pathFinder.longestPathsFromSource(dag, topoResult, source);
+        QueryLatencies.PATHS.recordSince(start);
+        return result;
     }
 
     /**
      * Computes both shortest and longest paths
      */
-    public static Map<String, PathResult> findAllPaths(Graph dag, TopologicalSortResult topoResult, int source) {
+    public static Map<String, PathResult> findAllPaths(GraphView dag, TopologicalSortResult topoResult, int source) {
+        long start = System.nanoTime();
         DAGShortestLongestPaths pathFinder = new DAGShortestLongestPaths();
-        return pathFinder.computeAllPaths(dag, topoResult, source);
+        Map<String, PathResult> results = pathFinder.computeAllPaths(dag, topoResult, source);
+        QueryLatencies.PATHS.recordSince(start);
+        return results;
+    }
+
+    /**
+     * Computes shortest paths from source in DAG with 64-bit, overflow-safe distances
+     */
+    public static PathResult64 findShortestPaths64(GraphView dag, TopologicalSortResult topoResult, int source) {
+        long start = System.nanoTime();
+        DAGShortestLongestPaths64 pathFinder = new DAGShortestLongestPaths64();
+        PathResult64 result = pathFinder.shortestPathsFromSource(dag, topoResult, source);
+        QueryLatencies.PATHS.recordSince(start);
+        return result;
+    }
+
+    /**
+     * Computes longest paths from source in DAG with 64-bit, overflow-safe distances
+     */
+    public static PathResult64 findLongestPaths64(GraphView dag, TopologicalSortResult topoResult, int source) {
+        long start = System.nanoTime();
+        DAGShortestLongestPaths64 pathFinder = new DAGShortestLongestPaths64();
+        PathResult64 result = pathFinder.longestPathsFromSource(dag, topoResult, source);
+        QueryLatencies.PATHS.recordSince(start);
+        return result;
+    }
+
+    /**
+     * Computes both shortest and longest paths with 64-bit, overflow-safe distances
+     */
+    public static Map<String, PathResult64> findAllPaths64(GraphView dag, TopologicalSortResult topoResult, int source) {
+        long start = System.nanoTime();
+        DAGShortestLongestPaths64 pathFinder = new DAGShortestLongestPaths64();
+        Map<String, PathResult64> results = pathFinder.computeAllPaths(dag, topoResult, source);
+        QueryLatencies.PATHS.recordSince(start);
+        return results;
+    }
+
+    /**
+     * Computes the k shortest (or longest) paths to every vertex plus optimal-path counts
+     */
+    public static KBestPathResult findKBestPaths(GraphView dag, TopologicalSortResult topoResult, int source,
+                                                 int k, boolean shortest) {
+        long start = System.nanoTime();
+        DAGKBestPaths pathFinder = new DAGKBestPaths();
+        KBestPathResult result = shortest
+                ? pathFinder.kShortestPaths(dag, topoResult, source, k)
+                : pathFinder.kLongestPaths(dag, topoResult, source, k);
+        QueryLatencies.PATHS.recordSince(start);
+        return result;
+    }
+
+    /**
+     * Computes shortest distances from every vertex to target in one reverse sweep
+     */
+    public static TargetPathResult findShortestPathsToTarget(GraphView dag, TopologicalSortResult topoResult, int target) {
+        long start = System.nanoTime();
+        TargetPathResult result = new DAGPathsToTarget().shortestPathsToTarget(dag, topoResult, target);
+        QueryLatencies.PATHS.recordSince(start);
+        return result;
+    }
+
+    /**
+     * Computes longest distances from every vertex to target in one reverse sweep
+     */
+    public static TargetPathResult findLongestPathsToTarget(GraphView dag, TopologicalSortResult topoResult, int target) {
+        long start = System.nanoTime();
+        TargetPathResult result = new DAGPathsToTarget().longestPathsToTarget(dag, topoResult, target);
+        QueryLatencies.PATHS.recordSince(start);
+        return result;
     }
 
     /**
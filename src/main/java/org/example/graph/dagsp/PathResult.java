@@ -1,5 +1,7 @@
 package org.example.graph.dagsp;
 
+import org.example.graph.metrics.MemoryAccounting;
+
 import java.util.List;
 import java.util.Map;
 
@@ -57,8 +59,9 @@ public class PathResult {
         java.util.List<Integer> path = new java.util.ArrayList<>();
         Integer current = target;
 
-        // Reconstruct path backwards
-        while (current != null) {
+        // Reconstruct path backwards (bounded, predecessors may form a cycle inside an SCC)
+        int steps = 0;
+        while (current != null && steps++ <= distances.size()) {
             path.add(0, current);
             current = predecessors.get(current);
             if (current != null && current == source) {
@@ -75,6 +78,20 @@ public class PathResult {
         return path;
     }
 
+    /**
+     * Estimates the bytes retained by the distance and predecessor maps and the critical path
+     */
+    public long estimateRetainedBytes() {
+        long bytes = MemoryAccounting.integerMap(distances.size());
+        if (predecessors != null) {
+            bytes += MemoryAccounting.integerMap(predecessors.size());
+        }
+        if (criticalPath != null) {
+            bytes += MemoryAccounting.integerList(criticalPath.size());
+        }
+        return bytes;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,134 @@
+package org.example.graph.dagsp;
+
+import org.example.graph.metrics.MemoryAccounting;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Path result of the 64-bit engine: distances and predecessors live in primitive arrays
+ */
+public class PathResult64 {
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+    public static final long NEG_UNREACHABLE = Long.MIN_VALUE;
+    public static final int NO_PREDECESSOR = -1;
+
+    private final long[] distances;
+    private final int[] predecessors;
+    private final List<Integer> criticalPath;
+    private final long criticalPathLength;
+    private final int source;
+    private final boolean isShortestPath;
+
+    public PathResult64(long[] distances, int[] predecessors, List<Integer> criticalPath,
+                        long criticalPathLength, int source, boolean isShortestPath) {
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.criticalPath = criticalPath;
+        this.criticalPathLength = criticalPathLength;
+        this.source = source;
+        this.isShortestPath = isShortestPath;
+    }
+
+    // Getters
+    public long[] getDistances() {
+        return distances;
+    }
+
+    public long getDistance(int vertex) {
+        return distances[vertex];
+    }
+
+    public int[] getPredecessors() {
+        return predecessors;
+    }
+
+    public List<Integer> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public long getCriticalPathLength() {
+        return criticalPathLength;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public boolean isShortestPath() {
+        return isShortestPath;
+    }
+
+    /**
+     * Checks whether the vertex was reached from the source
+     */
+    public boolean isReachable(int vertex) {
+        long d = distances[vertex];
+        return d != UNREACHABLE && d != NEG_UNREACHABLE;
+    }
+
+    /**
+     * Reconstructs path from source to target vertex.
+     * The walk is bounded by n steps, so a predecessor cycle can never hang it.
+     */
+    public List<Integer> reconstructPath(int target) {
+        if (target < 0 || target >= distances.length || !isReachable(target)) {
+            return List.of();
+        }
+
+        List<Integer> path = new ArrayList<>();
+        int current = target;
+        int steps = 0;
+        while (current != NO_PREDECESSOR && steps <= distances.length) {
+            path.add(current);
+            if (current == source) {
+                break;
+            }
+            current = predecessors[current];
+            steps++;
+        }
+
+        if (path.get(path.size() - 1) != source) {
+            return List.of(); // Predecessor chain does not lead back to source
+        }
+
+        java.util.Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Estimates the bytes retained by the distance and predecessor arrays and the critical path
+     */
+    public long estimateRetainedBytes() {
+        long bytes = MemoryAccounting.longArray(distances.length) + MemoryAccounting.intArray(predecessors.length);
+        if (criticalPath != null) {
+            bytes += MemoryAccounting.integerList(criticalPath.size());
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (isShortestPath) {
+            sb.append("Shortest Paths (64-bit) from source ").append(source).append(":\n");
+        } else {
+            sb.append("Longest Paths (64-bit) from source ").append(source).append(":\n");
+        }
+
+        for (int vertex = 0; vertex < distances.length; vertex++) {
+            if (!isReachable(vertex)) {
+                sb.append("  Vertex ").append(vertex).append(": UNREACHABLE\n");
+            } else {
+                sb.append("  Vertex ").append(vertex).append(": ").append(distances[vertex]).append("\n");
+            }
+        }
+
+        if (criticalPath != null && !criticalPath.isEmpty()) {
+            sb.append("\nCritical Path (Longest): ").append(criticalPath)
+                    .append("\nCritical Path Length: ").append(criticalPathLength).append("\n");
+        }
+
+        return sb.toString();
+    }
+}
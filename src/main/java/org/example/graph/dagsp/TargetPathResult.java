@@ -0,0 +1,84 @@
+package org.example.graph.dagsp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Distances from every vertex to a single target, with the next hop towards it
+ */
+public class TargetPathResult {
+    private final long[] distances;
+    private final int[] successors;
+    private final int target;
+    private final boolean isShortestPath;
+
+    public TargetPathResult(long[] distances, int[] successors, int target, boolean isShortestPath) {
+        this.distances = distances;
+        this.successors = successors;
+        this.target = target;
+        this.isShortestPath = isShortestPath;
+    }
+
+    // Getters
+    public long[] getDistances() {
+        return distances;
+    }
+
+    public long getDistance(int vertex) {
+        return distances[vertex];
+    }
+
+    public int[] getSuccessors() {
+        return successors;
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    public boolean isShortestPath() {
+        return isShortestPath;
+    }
+
+    /**
+     * Checks whether the target can be reached from the vertex
+     */
+    public boolean canReachTarget(int vertex) {
+        long d = distances[vertex];
+        return d != PathResult64.UNREACHABLE && d != PathResult64.NEG_UNREACHABLE;
+    }
+
+    /**
+     * Reconstructs the path from a vertex to the target by following successors
+     */
+    public List<Integer> pathToTarget(int from) {
+        if (from < 0 || from >= distances.length || !canReachTarget(from)) {
+            return List.of();
+        }
+
+        List<Integer> path = new ArrayList<>();
+        int current = from;
+        for (int steps = 0; current != PathResult64.NO_PREDECESSOR && steps <= distances.length; steps++) {
+            path.add(current);
+            if (current == target) {
+                return path;
+            }
+            current = successors[current];
+        }
+        return List.of(); // Successor chain does not reach the target
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(isShortestPath ? "Shortest" : "Longest").append(" Paths to target ").append(target).append(":\n");
+        for (int vertex = 0; vertex < distances.length; vertex++) {
+            if (!canReachTarget(vertex)) {
+                sb.append("  Vertex ").append(vertex).append(": UNREACHABLE\n");
+            } else {
+                sb.append("  Vertex ").append(vertex).append(": ").append(distances[vertex]).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+}
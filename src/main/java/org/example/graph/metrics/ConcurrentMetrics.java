@@ -0,0 +1,216 @@
+package org.example.graph.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe metrics backed by striped LongAdder counters, for engines that update from many threads.
+ * For innermost loops prefer giving each worker a {@link #local()} accumulator, which flushes here
+ * once per phase instead of touching shared cells on every increment.
+ */
+public class ConcurrentMetrics implements Metrics {
+    private final String algorithmName;
+    private final AtomicLong startTime = new AtomicLong();
+    private final AtomicLong endTime = new AtomicLong();
+    private final LongAdder verticesVisited = new LongAdder();
+    private final LongAdder edgesRelaxed = new LongAdder();
+    private final LongAdder stackOperations = new LongAdder();
+    private final LongAdder queueOperations = new LongAdder();
+    private final LongAdder phaseNanos = new LongAdder();
+    private final LongAccumulator longestPhaseNanos = new LongAccumulator(Math::max, 0);
+    private final boolean phasesOverlap; // accumulated phases ran side by side
+    private final LongAdder phaseCount = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder retainedBytes = new LongAdder();
+    private final Map<String, String> notes = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public ConcurrentMetrics(String algorithmName) {
+        this(algorithmName, false);
+    }
+
+    /**
+     * @param phasesOverlap true when the accumulated phases run concurrently, e.g. one per island group; the
+     *                      elapsed time is then the longest phase, while the sum stays in getTotalPhaseNanos()
+     */
+    public ConcurrentMetrics(String algorithmName, boolean phasesOverlap) {
+        this.algorithmName = algorithmName;
+        this.phasesOverlap = phasesOverlap;
+    }
+
+    /**
+     * Creates a single-thread accumulator that flushes into this instance at stopTimer()
+     */
+    public LocalMetrics local() {
+        return new LocalMetrics(algorithmName, this);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    @Override
+    public void reset() {
+        startTime.set(0);
+        endTime.set(0);
+        verticesVisited.reset();
+        edgesRelaxed.reset();
+        stackOperations.reset();
+        queueOperations.reset();
+        phaseNanos.reset();
+        longestPhaseNanos.reset();
+        phaseCount.reset();
+        allocatedBytes.reset();
+        retainedBytes.reset();
+        notes.clear();
+    }
+
+    /**
+     * Starts the wall-clock span; only the first caller sets it
+     */
+    @Override
+    public void startTimer() {
+        startTime.compareAndSet(0, System.nanoTime());
+    }
+
+    /**
+     * Extends the wall-clock span to now
+     */
+    @Override
+    public void stopTimer() {
+        endTime.accumulateAndGet(System.nanoTime(), Math::max);
+    }
+
+    /**
+     * Wall-clock span if the timer was used, otherwise the time of accumulated phases: summed, or the longest
+     * one when they overlap
+     */
+    @Override
+    public long getElapsedTimeNanos() {
+        long start = startTime.get();
+        long end = endTime.get();
+        if (start != 0 && end != 0) {
+            return end - start;
+        }
+        return phasesOverlap ? longestPhaseNanos.get() : phaseNanos.sum();
+    }
+
+    // Increment methods
+    @Override
+    public void incrementVerticesVisited() {
+        verticesVisited.increment();
+    }
+
+    @Override
+    public void incrementVerticesVisited(long count) {
+        verticesVisited.add(count);
+    }
+
+    @Override
+    public void incrementEdgesRelaxed() {
+        edgesRelaxed.increment();
+    }
+
+    @Override
+    public void incrementEdgesRelaxed(long count) {
+        edgesRelaxed.add(count);
+    }
+
+    @Override
+    public void incrementStackOperations() {
+        stackOperations.increment();
+    }
+
+    @Override
+    public void incrementQueueOperations() {
+        queueOperations.increment();
+    }
+
+    @Override
+    public void recordRetainedBytes(long bytes) {
+        retainedBytes.add(bytes);
+    }
+
+    /**
+     * Adds a finished phase; allocation is only known per thread, so it arrives through here
+     */
+    @Override
+    public void accumulate(Metrics phase) {
+        verticesVisited.add(phase.getVerticesVisited());
+        edgesRelaxed.add(phase.getEdgesRelaxed());
+        stackOperations.add(phase.getStackOperations());
+        queueOperations.add(phase.getQueueOperations());
+        long nanos = phase.getElapsedTimeNanos();
+        phaseNanos.add(nanos);
+        longestPhaseNanos.accumulate(nanos);
+        phaseCount.increment();
+        allocatedBytes.add(Math.max(0, phase.getAllocatedBytes()));
+        retainedBytes.add(phase.getRetainedBytes());
+    }
+
+    // Getters
+    @Override
+    public void recordNote(String key, String value) {
+        notes.put(key, value);
+    }
+
+    @Override
+    public Map<String, String> getNotes() {
+        synchronized (notes) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(notes));
+        }
+    }
+
+    @Override
+    public long getVerticesVisited() {
+        return verticesVisited.sum();
+    }
+
+    @Override
+    public long getEdgesRelaxed() {
+        return edgesRelaxed.sum();
+    }
+
+    @Override
+    public long getStackOperations() {
+        return stackOperations.sum();
+    }
+
+    @Override
+    public long getQueueOperations() {
+        return queueOperations.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public long getRetainedBytes() {
+        return retainedBytes.sum();
+    }
+
+    /**
+     * Summed elapsed time of all accumulated phases; CPU time rather than wall-clock time when they overlap
+     */
+    public long getTotalPhaseNanos() {
+        return phaseNanos.sum();
+    }
+
+    /**
+     * Number of phases accumulated so far
+     */
+    public long getPhaseCount() {
+        return phaseCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return Metrics.summary(this);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.graph.metrics;
+
+/**
+ * Point-in-time copy of a {@link LatencyHistogram}
+ */
+public class HistogramSnapshot {
+    private final String name;
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    HistogramSnapshot(String name, long[] counts, long count, long totalNanos, long maxNanos) {
+        this.name = name;
+        this.counts = counts;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Latency at the given quantile (0..1), as the upper bound of its bucket capped by the max
+     */
+    public long getValueAtQuantile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.bucketUpperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Number of recorded values at or below the bound, as a Prometheus "le" bucket counts them;
+     * exact when the bound is the largest value of a bucket, e.g. any power of two minus one
+     */
+    public long getCountBelow(long boundNanos) {
+        long below = 0;
+        for (int i = 0; i < counts.length && LatencyHistogram.bucketUpperBound(i) <= boundNanos; i++) {
+            below += counts[i];
+        }
+        return below;
+    }
+
+    public long getP50() {
+        return getValueAtQuantile(0.50);
+    }
+
+    public long getP99() {
+        return getValueAtQuantile(0.99);
+    }
+
+    public long getP999() {
+        return getValueAtQuantile(0.999);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Latency[%s]: count=%d, p50=%.3fms, p99=%.3fms, p999=%.3fms, max=%.3fms",
+                name, count, getP50() / 1e6, getP99() / 1e6, getP999() / 1e6, maxNanos / 1e6);
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.graph.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single-thread metrics with plain long fields.
+ * When a parent is given, the counters of each phase are flushed into it once, at stopTimer(),
+ * so parallel workers can each count locally and publish a single update per phase.
+ */
+public class LocalMetrics implements Metrics {
+    private final String algorithmName;
+    private final Metrics parent;
+    private long startTime;
+    private long endTime;
+    private long accumulatedNanos; // elapsed time of phases merged in via accumulate()
+    private long verticesVisited;
+    private long edgesRelaxed;
+    private long stackOperations;
+    private long queueOperations;
+    private long allocationStart;
+    private long allocatedBytes;
+    private long retainedBytes;
+    private Map<String, String> notes = Map.of(); // allocated on the first note
+
+    public LocalMetrics(String algorithmName) {
+        this(algorithmName, null);
+    }
+
+    public LocalMetrics(String algorithmName, Metrics parent) {
+        this.algorithmName = algorithmName;
+        this.parent = parent;
+    }
+
+    @Override
+    public void reset() {
+        startTime = 0;
+        endTime = 0;
+        accumulatedNanos = 0;
+        verticesVisited = 0;
+        edgesRelaxed = 0;
+        stackOperations = 0;
+        queueOperations = 0;
+        allocationStart = 0;
+        allocatedBytes = 0;
+        retainedBytes = 0;
+        notes = Map.of();
+    }
+
+    @Override
+    public void startTimer() {
+        allocationStart = MemoryAccounting.currentThreadAllocatedBytes();
+        startTime = System.nanoTime();
+    }
+
+    @Override
+    public void stopTimer() {
+        endTime = System.nanoTime();
+        if (allocationStart >= 0) {
+            allocatedBytes += MemoryAccounting.currentThreadAllocatedBytes() - allocationStart;
+        }
+        if (parent != null) {
+            parent.accumulate(this);
+        }
+    }
+
+    @Override
+    public long getElapsedTimeNanos() {
+        return (endTime - startTime) + accumulatedNanos;
+    }
+
+    // Increment methods
+    @Override
+    public void incrementVerticesVisited() {
+        verticesVisited++;
+    }
+
+    @Override
+    public void incrementVerticesVisited(long count) {
+        verticesVisited += count;
+    }
+
+    @Override
+    public void incrementEdgesRelaxed() {
+        edgesRelaxed++;
+    }
+
+    @Override
+    public void incrementEdgesRelaxed(long count) {
+        edgesRelaxed += count;
+    }
+
+    @Override
+    public void incrementStackOperations() {
+        stackOperations++;
+    }
+
+    @Override
+    public void incrementQueueOperations() {
+        queueOperations++;
+    }
+
+    @Override
+    public void recordRetainedBytes(long bytes) {
+        retainedBytes = bytes;
+    }
+
+    @Override
+    public void accumulate(Metrics phase) {
+        verticesVisited += phase.getVerticesVisited();
+        edgesRelaxed += phase.getEdgesRelaxed();
+        stackOperations += phase.getStackOperations();
+        queueOperations += phase.getQueueOperations();
+        accumulatedNanos += phase.getElapsedTimeNanos();
+        allocatedBytes += Math.max(0, phase.getAllocatedBytes());
+        retainedBytes += phase.getRetainedBytes();
+    }
+
+    // Getters
+    @Override
+    public void recordNote(String key, String value) {
+        if (notes.isEmpty()) {
+            notes = new LinkedHashMap<>();
+        }
+        notes.put(key, value);
+    }
+
+    @Override
+    public Map<String, String> getNotes() {
+        return Collections.unmodifiableMap(notes);
+    }
+
+    @Override
+    public long getVerticesVisited() {
+        return verticesVisited;
+    }
+
+    @Override
+    public long getEdgesRelaxed() {
+        return edgesRelaxed;
+    }
+
+    @Override
+    public long getStackOperations() {
+        return stackOperations;
+    }
+
+    @Override
+    public long getQueueOperations() {
+        return queueOperations;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocationStart < 0 ? -1 : allocatedBytes;
+    }
+
+    @Override
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    @Override
+    public String toString() {
+        return Metrics.summary(this);
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.graph.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Per-thread allocation counter and rough object-size constants for retained-size estimates.
+ * Sizes assume a 64-bit JVM with compressed oops; they are estimates for finding hot spots,
+ * not exact heap accounting.
+ */
+public final class MemoryAccounting {
+    public static final long OBJECT_HEADER = 12;
+    public static final long ARRAY_HEADER = 16;
+    public static final long REFERENCE = 4;
+    public static final long BOXED_INTEGER = 16;
+    public static final long ARRAY_LIST = 24;    // header + size + modCount + elementData reference
+    public static final long HASH_MAP = 48;
+    public static final long HASH_MAP_NODE = 32; // hash + key + value + next
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = initThreadBean();
+
+    private MemoryAccounting() {
+    }
+
+    private static com.sun.management.ThreadMXBean initThreadBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 if the JVM cannot tell
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREAD_BEAN != null ? THREAD_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Rounds a shallow size up to the 8-byte object alignment
+     */
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    public static long intArray(long length) {
+        return align(ARRAY_HEADER + 4 * length);
+    }
+
+    public static long longArray(long length) {
+        return align(ARRAY_HEADER + 8 * length);
+    }
+
+    public static long referenceArray(long length) {
+        return align(ARRAY_HEADER + REFERENCE * length);
+    }
+
+    /**
+     * ArrayList with the given size, excluding the elements themselves
+     */
+    public static long arrayList(long size) {
+        return ARRAY_LIST + referenceArray(size);
+    }
+
+    /**
+     * List of boxed Integers (values outside the Integer cache are separate objects)
+     */
+    public static long integerList(long size) {
+        return arrayList(size) + size * BOXED_INTEGER;
+    }
+
+    /**
+     * HashMap from Integer to Integer with the given number of entries
+     */
+    public static long integerMap(long size) {
+        long capacity = 16;
+        while (capacity * 3 / 4 < size) {
+            capacity <<= 1; // Table doubles at 0.75 load
+        }
+        return HASH_MAP + referenceArray(capacity) + size * (HASH_MAP_NODE + 2 * BOXED_INTEGER);
+    }
+}
@@ -1,107 +1,170 @@
 package org.example.graph.metrics;
 
-public class Metrics {
-    private long startTime;
-    private long endTime;
-    private int verticesVisited;
-    private int edgesRelaxed;
-    private int stackOperations;
-    private int queueOperations;
-    private String algorithmName;
-
-    public Metrics(String algorithmName) {
-        this.algorithmName = algorithmName;
-        reset();
-    }
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-    public void reset() {
-        startTime = 0;
-        endTime = 0;
-        verticesVisited = 0;
-        edgesRelaxed = 0;
-        stackOperations = 0;
-        queueOperations = 0;
-    }
+/**
+ * Counters and timing for one algorithm run.
+ * Three implementations cover the usual cases:
+ * {@link LocalMetrics} - plain fields owned by one thread, optionally flushed into a parent at phase end;
+ * {@link ConcurrentMetrics} - LongAdder-backed, safe to share between parallel engines;
+ * {@link NoOpMetrics} - empty methods the JIT inlines away, so hot loops pay nothing.
+ */
+public interface Metrics {
+    /**
+     * System property selecting the implementation returned by {@link #create(String)}: "off" or "local" (default)
+     */
+    String MODE_PROPERTY = "graph.metrics";
 
-    public void startTimer() {
-        startTime = System.nanoTime();
+    /**
+     * Creates the metrics an engine uses by default, honoring the graph.metrics system property.
+     * Each finished phase is also flushed into the process-wide totals of {@link MetricsRegistry}.
+     */
+    static Metrics create(String algorithmName) {
+        if ("off".equalsIgnoreCase(System.getProperty(MODE_PROPERTY))) {
+            return new NoOpMetrics(algorithmName);
+        }
+        return new LocalMetrics(algorithmName, MetricsRegistry.totals(algorithmName));
     }
 
-    public void stopTimer() {
-        endTime = System.nanoTime();
-    }
+    String getAlgorithmName();
 
-    public long getElapsedTimeNanos() {
-        return endTime - startTime;
+    /**
+     * False for implementations that drop every update
+     */
+    default boolean isEnabled() {
+        return true;
     }
 
-    public double getElapsedTimeMillis() {
+    void reset();
+
+    void startTimer();
+
+    void stopTimer();
+
+    long getElapsedTimeNanos();
+
+    default double getElapsedTimeMillis() {
         return getElapsedTimeNanos() / 1_000_000.0;
     }
 
     // Increment methods
-    public void incrementVerticesVisited() {
-        verticesVisited++;
-    }
+    void incrementVerticesVisited();
 
-    public void incrementVerticesVisited(int count) {
-        verticesVisited += count;
-    }
+    void incrementVerticesVisited(long count);
 
-    public void incrementEdgesRelaxed() {
-        edgesRelaxed++;
-    }
+    void incrementEdgesRelaxed();
 
-    public void incrementEdgesRelaxed(int count) {
-        edgesRelaxed += count;
-    }
+    void incrementEdgesRelaxed(long count);
+
+    void incrementStackOperations();
+
+    void incrementQueueOperations();
+
+    /**
+     * Adds the counters and elapsed time of a finished phase
+     */
+    void accumulate(Metrics phase);
+
+    /**
+     * Records the estimated retained size of the structure the phase produced
+     */
+    void recordRetainedBytes(long bytes);
 
-    public void incrementStackOperations() {
-        stackOperations++;
+    /**
+     * Records a named attribute of the run, e.g. a decision of the planner; cleared by reset().
+     * Implementations that drop updates ignore it.
+     */
+    default void recordNote(String key, String value) {
     }
 
-    public void incrementQueueOperations() {
-        queueOperations++;
+    /**
+     * Notes recorded since the last reset(), in recording order
+     */
+    default Map<String, String> getNotes() {
+        return Map.of();
     }
 
     // Getters
-    public int getVerticesVisited() {
-        return verticesVisited;
-    }
+    long getVerticesVisited();
 
-    public int getEdgesRelaxed() {
-        return edgesRelaxed;
-    }
+    long getEdgesRelaxed();
 
-    public int getStackOperations() {
-        return stackOperations;
-    }
+    long getStackOperations();
 
-    public int getQueueOperations() {
-        return queueOperations;
-    }
+    long getQueueOperations();
 
-    public String getAlgorithmName() {
-        return algorithmName;
-    }
+    /**
+     * Bytes allocated by the timed thread between startTimer() and stopTimer(), -1 if unknown
+     */
+    long getAllocatedBytes();
 
-    @Override
-    public String toString() {
-        return String.format(
-                "Metrics[%s]: Time=%.3fms, Vertices=%d, Edges=%d, StackOps=%d, QueueOps=%d",
-                algorithmName, getElapsedTimeMillis(), verticesVisited, edgesRelaxed,
-                stackOperations, queueOperations
-        );
-    }
+    /**
+     * Estimated retained size of the phase's result, 0 if not recorded
+     */
+    long getRetainedBytes();
 
-    public String toReport() {
+    default String toReport() {
         StringBuilder sb = new StringBuilder();
-        sb.append("=== ").append(algorithmName).append(" Metrics ===\n");
+        sb.append("=== ").append(getAlgorithmName()).append(" Metrics ===\n");
         sb.append("Execution Time: ").append(String.format("%.3f", getElapsedTimeMillis())).append(" ms\n");
-        sb.append("Vertices Visited: ").append(verticesVisited).append("\n");
-        sb.append("Edges Relaxed: ").append(edgesRelaxed).append("\n");
-        sb.append("Stack Operations: ").append(stackOperations).append("\n");
-        sb.append("Queue Operations: ").append(queueOperations).append("\n");
+        sb.append("Vertices Visited: ").append(getVerticesVisited()).append("\n");
+        sb.append("Edges Relaxed: ").append(getEdgesRelaxed()).append("\n");
+        sb.append("Stack Operations: ").append(getStackOperations()).append("\n");
+        sb.append("Queue Operations: ").append(getQueueOperations()).append("\n");
+        sb.append("Allocated: ").append(formatBytes(getAllocatedBytes())).append("\n");
+        sb.append("Retained (est.): ").append(formatBytes(getRetainedBytes())).append("\n");
+        for (Map.Entry<String, String> note : getNotes().entrySet()) {
+            sb.append(note.getKey()).append(": ").append(note.getValue()).append("\n");
+        }
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Machine-readable snapshot of all counters, in a stable key order
+     */
+    default Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("algorithm", getAlgorithmName());
+        map.put("elapsedNanos", getElapsedTimeNanos());
+        map.put("verticesVisited", getVerticesVisited());
+        map.put("edgesRelaxed", getEdgesRelaxed());
+        map.put("stackOperations", getStackOperations());
+        map.put("queueOperations", getQueueOperations());
+        map.put("allocatedBytes", getAllocatedBytes());
+        map.put("retainedBytes", getRetainedBytes());
+        map.putAll(getNotes());
+        return map;
+    }
+
+    /**
+     * {@link #toMap()} as a single-line JSON object, escaped by Jackson so notes may hold any characters
+     */
+    default String toJson() {
+        return MetricsJson.write(toMap());
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 0) {
+            return "n/a";
+        }
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KiB", bytes / 1024.0);
+        }
+        return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * One-line summary shared by the implementations' toString()
+     */
+    static String summary(Metrics metrics) {
+        return String.format(
+                "Metrics[%s]: Time=%.3fms, Vertices=%d, Edges=%d, StackOps=%d, QueueOps=%d",
+                metrics.getAlgorithmName(), metrics.getElapsedTimeMillis(), metrics.getVerticesVisited(),
+                metrics.getEdgesRelaxed(), metrics.getStackOperations(), metrics.getQueueOperations()
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.graph.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Shared Jackson mapper behind {@link Metrics#toJson()}; interfaces cannot hold private state
+ */
+final class MetricsJson {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MetricsJson() {
+    }
+
+    static String write(Map<String, Object> values) {
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            // Only strings and numbers go in, so this is not expected
+            throw new UncheckedIOException(e);
+        }
+    }
+}
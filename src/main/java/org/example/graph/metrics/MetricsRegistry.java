@@ -0,0 +1,37 @@
+package org.example.graph.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cumulative counters, one {@link ConcurrentMetrics} per algorithm name.
+ * Metrics created through {@link Metrics#create(String)} flush each finished phase here,
+ * so exporters can read running totals without touching the engines.
+ */
+public final class MetricsRegistry {
+    private static final ConcurrentHashMap<String, ConcurrentMetrics> TOTALS = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Cumulative metrics for the algorithm, created on first use
+     */
+    public static ConcurrentMetrics totals(String algorithmName) {
+        return TOTALS.computeIfAbsent(algorithmName, ConcurrentMetrics::new);
+    }
+
+    /**
+     * All registered totals sorted by algorithm name
+     */
+    public static Map<String, ConcurrentMetrics> all() {
+        return new TreeMap<>(TOTALS);
+    }
+
+    public static void resetAll() {
+        for (ConcurrentMetrics metrics : TOTALS.values()) {
+            metrics.reset();
+        }
+    }
+}
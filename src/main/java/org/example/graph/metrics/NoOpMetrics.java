@@ -0,0 +1,107 @@
+package org.example.graph.metrics;
+
+/**
+ * Metrics that record nothing. Every method is empty or returns a constant, so once an engine's
+ * call site only ever sees this class the JIT inlines the calls to nothing.
+ */
+public final class NoOpMetrics implements Metrics {
+    private final String algorithmName;
+
+    public NoOpMetrics(String algorithmName) {
+        this.algorithmName = algorithmName;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+    }
+
+    @Override
+    public void startTimer() {
+    }
+
+    @Override
+    public void stopTimer() {
+    }
+
+    @Override
+    public long getElapsedTimeNanos() {
+        return 0;
+    }
+
+    @Override
+    public void incrementVerticesVisited() {
+    }
+
+    @Override
+    public void incrementVerticesVisited(long count) {
+    }
+
+    @Override
+    public void incrementEdgesRelaxed() {
+    }
+
+    @Override
+    public void incrementEdgesRelaxed(long count) {
+    }
+
+    @Override
+    public void incrementStackOperations() {
+    }
+
+    @Override
+    public void incrementQueueOperations() {
+    }
+
+    @Override
+    public void accumulate(Metrics phase) {
+    }
+
+    @Override
+    public void recordRetainedBytes(long bytes) {
+    }
+
+    @Override
+    public long getVerticesVisited() {
+        return 0;
+    }
+
+    @Override
+    public long getEdgesRelaxed() {
+        return 0;
+    }
+
+    @Override
+    public long getStackOperations() {
+        return 0;
+    }
+
+    @Override
+    public long getQueueOperations() {
+        return 0;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return -1; // Nothing was measured, which is not the same as nothing allocated
+    }
+
+    @Override
+    public long getRetainedBytes() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Metrics[" + algorithmName + "]: disabled";
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.graph.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serves the cumulative counters of {@link MetricsRegistry} and the {@link QueryLatencies} histograms
+ * in the Prometheus text exposition format at /metrics.
+ * A scrape only sums LongAdders and copies histogram buckets, so it never blocks running analyses.
+ */
+public class PrometheusExporter implements AutoCloseable {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // Histogram bounds: powers of two minus one from ~1us to ~69s, i.e. the largest values of LatencyHistogram
+    // buckets, so every "le" count is exact
+    private static final int MIN_BOUND_EXPONENT = 10;
+    private static final int MAX_BOUND_EXPONENT = 36;
+
+    private final HttpServer server;
+
+    private PrometheusExporter(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts an exporter on the given port of all interfaces (0 = any free port)
+     */
+    public static PrometheusExporter start(int port) throws IOException {
+        return start(new InetSocketAddress(port));
+    }
+
+    public static PrometheusExporter start(InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        server.createContext("/metrics", PrometheusExporter::handle);
+        server.start();
+        return new PrometheusExporter(server);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Renders the current snapshot of every counter and histogram
+     */
+    public static String scrape() {
+        StringBuilder sb = new StringBuilder();
+        Map<String, ConcurrentMetrics> totals = MetricsRegistry.all();
+
+        counter(sb, totals, "graph_vertices_visited_total", "Vertices visited by the algorithms",
+                Metrics::getVerticesVisited);
+        counter(sb, totals, "graph_edges_relaxed_total", "Edges relaxed or scanned by the algorithms",
+                Metrics::getEdgesRelaxed);
+        counter(sb, totals, "graph_stack_operations_total", "Stack operations performed by the algorithms",
+                Metrics::getStackOperations);
+        counter(sb, totals, "graph_queue_operations_total", "Queue operations performed by the algorithms",
+                Metrics::getQueueOperations);
+        counter(sb, totals, "graph_allocated_bytes_total", "Bytes allocated by the timed thread during phases",
+                Metrics::getAllocatedBytes);
+
+        header(sb, "graph_phase_seconds", "summary", "Time spent in algorithm phases");
+        for (Map.Entry<String, ConcurrentMetrics> entry : totals.entrySet()) {
+            String labels = "{algorithm=\"" + escape(entry.getKey()) + "\"}";
+            sb.append("graph_phase_seconds_sum").append(labels).append(' ')
+                    .append(seconds(entry.getValue().getTotalPhaseNanos())).append('\n');
+            sb.append("graph_phase_seconds_count").append(labels).append(' ')
+                    .append(entry.getValue().getPhaseCount()).append('\n');
+        }
+
+        header(sb, "graph_query_latency_seconds", "histogram", "Latency of SCC, topological sort and path queries");
+        for (LatencyHistogram histogram : QueryLatencies.all()) {
+            HistogramSnapshot snapshot = histogram.snapshot();
+            String query = "query=\"" + escape(snapshot.getName()) + "\"";
+            for (int e = MIN_BOUND_EXPONENT; e <= MAX_BOUND_EXPONENT; e++) {
+                long bound = (1L << e) - 1;
+                sb.append("graph_query_latency_seconds_bucket{").append(query).append(",le=\"")
+                        .append(seconds(bound)).append("\"} ").append(snapshot.getCountBelow(bound)).append('\n');
+            }
+            sb.append("graph_query_latency_seconds_bucket{").append(query).append(",le=\"+Inf\"} ")
+                    .append(snapshot.getCount()).append('\n');
+            sb.append("graph_query_latency_seconds_sum{").append(query).append("} ")
+                    .append(seconds(snapshot.getTotalNanos())).append('\n');
+            sb.append("graph_query_latency_seconds_count{").append(query).append("} ")
+                    .append(snapshot.getCount()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private interface Counter {
+        long read(Metrics metrics);
+    }
+
+    private static void counter(StringBuilder sb, Map<String, ConcurrentMetrics> totals,
+                                String name, String help, Counter counter) {
+        header(sb, name, "counter", help);
+        for (Map.Entry<String, ConcurrentMetrics> entry : totals.entrySet()) {
+            sb.append(name).append("{algorithm=\"").append(escape(entry.getKey())).append("\"} ")
+                    .append(counter.read(entry.getValue())).append('\n');
+        }
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
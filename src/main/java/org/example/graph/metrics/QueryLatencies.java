@@ -0,0 +1,28 @@
+package org.example.graph.metrics;
+
+import java.util.List;
+
+/**
+ * Process-wide latency histograms for the query facades
+ * (SCCFinder, TopologicalSort and PathFinder)
+ */
+public final class QueryLatencies {
+    public static final LatencyHistogram SCC = new LatencyHistogram("scc");
+    public static final LatencyHistogram TOPOLOGICAL_SORT = new LatencyHistogram("topological_sort");
+    // Acyclicity checks stop at the first back edge, so they would skew the sort percentiles
+    public static final LatencyHistogram ACYCLICITY = new LatencyHistogram("acyclicity");
+    public static final LatencyHistogram PATHS = new LatencyHistogram("paths");
+
+    private QueryLatencies() {
+    }
+
+    public static List<LatencyHistogram> all() {
+        return List.of(SCC, TOPOLOGICAL_SORT, ACYCLICITY, PATHS);
+    }
+
+    public static void resetAll() {
+        for (LatencyHistogram histogram : all()) {
+            histogram.reset();
+        }
+    }
+}
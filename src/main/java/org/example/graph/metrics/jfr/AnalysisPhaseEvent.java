@@ -0,0 +1,68 @@
+package org.example.graph.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.example.graph.metrics.Metrics;
+import org.example.graph.models.GraphView;
+
+/**
+ * Base of the JFR events emitted by each analysis phase.
+ * Fields are only filled when the event is enabled and passes its threshold,
+ * so with JFR off an emission costs a begin()/end() pair the JIT can drop.
+ */
+@Category({"Graph Analysis"})
+@StackTrace(false)
+public abstract class AnalysisPhaseEvent extends Event {
+    @Label("Graph")
+    protected String graphId;
+
+    @Label("Vertices")
+    protected long vertices;
+
+    @Label("Edges")
+    protected long edges;
+
+    @Label("Vertices Visited")
+    protected long verticesVisited;
+
+    @Label("Edges Relaxed")
+    protected long edgesRelaxed;
+
+    @Label("Stack Operations")
+    protected long stackOperations;
+
+    @Label("Queue Operations")
+    protected long queueOperations;
+
+    /**
+     * Ends the event and commits it with the graph's size and the phase counters (metrics may be null)
+     */
+    public void commitFor(GraphView graph, Metrics metrics) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        if (graph != null) {
+            graphId = graphId(graph);
+            vertices = graph.getN();
+            edges = graph.getEdges().size();
+        }
+        if (metrics != null) {
+            verticesVisited = metrics.getVerticesVisited();
+            edgesRelaxed = metrics.getEdgesRelaxed();
+            stackOperations = metrics.getStackOperations();
+            queueOperations = metrics.getQueueOperations();
+        }
+        commit();
+    }
+
+    /**
+     * Identity used to correlate events of one graph: its name, or an identity hash for unnamed graphs
+     */
+    public static String graphId(GraphView graph) {
+        String name = graph.getName();
+        return name != null ? name : "graph@" + Integer.toHexString(System.identityHashCode(graph));
+    }
+}
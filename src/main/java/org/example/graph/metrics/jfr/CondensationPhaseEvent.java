@@ -0,0 +1,11 @@
+package org.example.graph.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.example.graph.Condensation")
+@Label("Condensation Phase")
+@Description("Building the condensation DAG")
+public class CondensationPhaseEvent extends AnalysisPhaseEvent {
+}
@@ -0,0 +1,11 @@
+package org.example.graph.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.example.graph.Load")
+@Label("Graph Load")
+@Description("Reading and validating a graph file")
+public class GraphLoadEvent extends AnalysisPhaseEvent {
+}
@@ -0,0 +1,22 @@
+package org.example.graph.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.example.graph.Paths")
+@Label("Path Phase")
+@Description("Shortest/longest path computation over a topological order")
+public class PathPhaseEvent extends AnalysisPhaseEvent {
+    @Label("Mode")
+    private String mode;
+
+    @Label("Vertex")
+    @Description("Source vertex, or the target for the *-to-target modes")
+    private int vertex;
+
+    public PathPhaseEvent(String mode, int vertex) {
+        this.mode = mode;
+        this.vertex = vertex;
+    }
+}
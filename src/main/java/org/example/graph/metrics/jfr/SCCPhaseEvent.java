@@ -0,0 +1,11 @@
+package org.example.graph.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.example.graph.SCC")
+@Label("SCC Phase")
+@Description("Strongly connected components search")
+public class SCCPhaseEvent extends AnalysisPhaseEvent {
+}
@@ -0,0 +1,11 @@
+package org.example.graph.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.example.graph.TopologicalSort")
+@Label("Topological Sort Phase")
+@Description("Topological sort of the condensation DAG")
+public class TopologicalSortPhaseEvent extends AnalysisPhaseEvent {
+}
@@ -0,0 +1,88 @@
+package org.example.graph.models;
+
+/**
+ * Adjacency in compressed sparse row (CSR) form: the neighbors of vertex v are
+ * neighbors[offsets[v] .. offsets[v + 1]) with matching weights.
+ * Used for in-edges, where a per-vertex List of Edge objects would be wasteful.
+ */
+public final class CompressedAdjacency {
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final int[] weights;
+
+    public CompressedAdjacency(int[] offsets, int[] neighbors, int[] weights) {
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds the in-edge CSR of a graph: for every edge u -> v, u is stored as a neighbor of v
+     */
+    public static CompressedAdjacency reverseOf(GraphView graph) {
+        int n = graph.getN();
+        boolean undirected = !graph.isDirected();
+        int[] offsets = new int[n + 1];
+
+        // Counting pass: in-degree of every vertex, shifted by one for the prefix sum
+        for (Edge edge : graph.getEdges()) {
+            int u = edge.getU();
+            int v = edge.getV();
+            if (u < n && v < n) {
+                offsets[v + 1]++;
+                if (undirected) {
+                    offsets[u + 1]++;
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] neighbors = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        int[] cursor = new int[n];
+        System.arraycopy(offsets, 0, cursor, 0, n);
+        for (Edge edge : graph.getEdges()) {
+            int u = edge.getU();
+            int v = edge.getV();
+            if (u < n && v < n) {
+                int slot = cursor[v]++;
+                neighbors[slot] = u;
+                weights[slot] = edge.getW();
+                if (undirected) {
+                    slot = cursor[u]++;
+                    neighbors[slot] = v;
+                    weights[slot] = edge.getW();
+                }
+            }
+        }
+
+        return new CompressedAdjacency(offsets, neighbors, weights);
+    }
+
+    public int getVertexCount() {
+        return offsets.length - 1;
+    }
+
+    public int getEdgeCount() {
+        return neighbors.length;
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    // Raw arrays for tight loops; callers must not modify them
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getNeighbors() {
+        return neighbors;
+    }
+
+    public int[] getWeights() {
+        return weights;
+    }
+}
@@ -53,7 +53,7 @@ public class Edge {
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
+        if (!(obj instanceof Edge)) return false; // Frozen copies in ImmutableGraph equal their originals
         Edge edge = (Edge) obj;
         return u == edge.u && v == edge.v && w == edge.w;
     }
@@ -1,11 +1,17 @@
 package org.example.graph.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.example.graph.metrics.MemoryAccounting;
 import java.util.ArrayList;
 import java.util.List;
 
 
-public class Graph {
+public class Graph implements GraphView {
+    public static final String EDGE_WEIGHT_MODEL = "edge";
+    public static final String NODE_WEIGHT_MODEL = "node";
+
     @JsonProperty("directed")
     private boolean directed;
 
@@ -21,7 +27,23 @@ public class Graph {
     @JsonProperty("weight_model")
     private String weightModel;
 
-    private transient List<List<Edge>> adjacencyList;
+    @JsonProperty("node_weights")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private int[] nodeWeights; // nodeWeights[v] = duration of v, only for weight_model "node"
+
+    @JsonIgnore
+    private transient String name; // identity for reports and events, e.g. the source file
+
+    @JsonIgnore
+    private transient volatile String fingerprint; // content hash, see GraphFingerprint; cleared by the setters
+
+    @JsonIgnore
+    private transient volatile GraphProfile profile; // shape summary for the planner; cleared by the setters
+
+    // Indexes are built into locals and published through volatile fields, so a reader never sees a
+    // half-built list; the first build runs under the graph's lock. Share ImmutableGraph across threads.
+    private transient volatile List<List<Edge>> adjacencyList;
+    private transient volatile CompressedAdjacency reverseAdjacency; // built on first use, see getReverseAdjacency()
 
     public Graph() {
         this.edges = new ArrayList<>();
@@ -36,60 +58,80 @@ public class Graph {
         buildAdjacencyList();
     }
 
+    public Graph(boolean directed, int n, List<Edge> edges, int source, String weightModel, int[] nodeWeights) {
+        this(directed, n, edges, source, weightModel);
+        this.nodeWeights = nodeWeights;
+    }
+
     /**
      * Builds adjacency list representation for faster graph traversal
      */
-    public void buildAdjacencyList() {
-        this.adjacencyList = new ArrayList<>(n);
+    public synchronized void buildAdjacencyList() {
+        this.reverseAdjacency = null; // Edges may have changed, rebuild lazily
+        List<List<Edge>> adjacency = new ArrayList<>(n);
         for (int i = 0; i < n; i++) {
-            adjacencyList.add(new ArrayList<>());
+            adjacency.add(new ArrayList<>());
         }
 
         for (Edge edge : edges) {
             if (edge.getU() < n && edge.getV() < n) {
-                adjacencyList.get(edge.getU()).add(edge);
+                adjacency.get(edge.getU()).add(edge);
                 // If undirected, add reverse edge (though our graphs are directed)
                 if (!directed) {
-                    adjacencyList.get(edge.getV()).add(new Edge(edge.getV(), edge.getU(), edge.getW()));
+                    adjacency.get(edge.getV()).add(new Edge(edge.getV(), edge.getU(), edge.getW()));
                 }
             }
         }
+        this.adjacencyList = adjacency;
     }
 
     // Getters and setters
+    @Override
     public boolean isDirected() {
         return directed;
     }
 
     public void setDirected(boolean directed) {
         this.directed = directed;
+        this.fingerprint = null;
+        this.profile = null;
     }
 
+    @Override
     public int getN() {
         return n;
     }
 
     public void setN(int n) {
         this.n = n;
+        this.fingerprint = null;
+        this.profile = null;
     }
 
+    @Override
     public List<Edge> getEdges() {
         return edges;
     }
 
     public void setEdges(List<Edge> edges) {
         this.edges = edges;
+        this.fingerprint = null;
+        this.profile = null;
         buildAdjacencyList();
     }
 
+    @Override
     public int getSource() {
         return source;
     }
 
     public void setSource(int source) {
         this.source = source;
+        this.fingerprint = null;
+        this.profile = null;
     }
 
+    @Override
     public String getWeightModel() {
         return weightModel;
     }
@@ -97,41 +139,174 @@ public class Graph {
     @JsonProperty("weight_model")
     public void setWeightModel(String weightModel) {
         this.weightModel = weightModel;
+        this.fingerprint = null;
+        this.profile = null;
+    }
+
+    @JsonIgnore
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @JsonIgnore
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the content hash of the graph, computed on first use unless the loader already supplied it.
+     * Edits made through getEdges() are not seen; call setEdges() after changing the list.
+     */
+    @JsonIgnore
+    @Override
+    public String getFingerprint() {
+        String hash = fingerprint;
+        if (hash == null) {
+            hash = GraphFingerprint.of(this);
+            fingerprint = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Stores a fingerprint computed elsewhere, e.g. while streaming the graph from a file
+     */
+    @JsonIgnore
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Gets the shape profile of the graph, computed on first use unless the loader already supplied it
+     */
+    @JsonIgnore
+    @Override
+    public GraphProfile getProfile() {
+        GraphProfile shape = profile;
+        if (shape == null) {
+            shape = GraphProfile.of(this);
+            profile = shape;
+        }
+        return shape;
+    }
+
+    @JsonIgnore
+    public void setProfile(GraphProfile profile) {
+        this.profile = profile;
+    }
+
+    @Override
+    public int[] getNodeWeights() {
+        return nodeWeights;
+    }
+
+    @JsonProperty("node_weights")
+    public void setNodeWeights(int[] nodeWeights) {
+        this.nodeWeights = nodeWeights;
+        this.fingerprint = null;
+        this.profile = null;
+    }
+
+    /**
+     * True when weights sit on vertices (weight_model "node") instead of edges
+     */
+    @JsonIgnore
+    @Override
+    public boolean isNodeWeighted() {
+        return NODE_WEIGHT_MODEL.equals(weightModel);
+    }
+
+    /**
+     * Gets the weight of a vertex, 0 for edge-weighted graphs
+     */
+    @Override
+    public int getNodeWeight(int vertex) {
+        return isNodeWeighted() ? nodeWeights[vertex] : 0;
     }
 
     /**
      * Gets adjacency list for efficient graph traversal
      */
+    @Override
     public List<List<Edge>> getAdjacencyList() {
-        if (adjacencyList == null) {
-            buildAdjacencyList();
+        List<List<Edge>> adjacency = adjacencyList;
+        if (adjacency == null) {
+            synchronized (this) {
+                if (adjacencyList == null) {
+                    buildAdjacencyList();
+                }
+                adjacency = adjacencyList;
+            }
         }
-        return adjacencyList;
+        return adjacency;
     }
 
     /**
      * Gets all outgoing edges from a vertex
      */
+    @Override
     public List<Edge> getOutgoingEdges(int vertex) {
-        if (adjacencyList == null) {
-            buildAdjacencyList();
+        List<List<Edge>> adjacency = getAdjacencyList();
+        return vertex < n ? adjacency.get(vertex) : new ArrayList<>();
+    }
+
+    /**
+     * Gets the number of outgoing edges of a vertex
+     */
+    @Override
+    public int getOutDegree(int vertex) {
+        return getOutgoingEdges(vertex).size();
+    }
+
+    /**
+     * Gets incoming edges of every vertex as a CSR, built once on first use and cached
+     */
+    @JsonIgnore
+    @Override
+    public CompressedAdjacency getReverseAdjacency() {
+        CompressedAdjacency reverse = reverseAdjacency;
+        if (reverse == null) {
+            synchronized (this) {
+                if (reverseAdjacency == null) {
+                    reverseAdjacency = CompressedAdjacency.reverseOf(this);
+                }
+                reverse = reverseAdjacency;
+            }
         }
-        return vertex < n ? adjacencyList.get(vertex) : new ArrayList<>();
+        return reverse;
     }
 
     /**
-     * Validates graph structure
+     * Gets the number of incoming edges of a vertex
      */
-    public boolean validate() {
-        if (n <= 0) return false;
-        if (source < 0 || source >= n) return false;
-        for (Edge edge : edges) {
-            if (edge.getU() < 0 || edge.getU() >= n ||
-                    edge.getV() < 0 || edge.getV() >= n) {
-                return false;
+    @Override
+    public int getInDegree(int vertex) {
+        return getReverseAdjacency().degree(vertex);
+    }
+
+    /**
+     * Estimates the bytes retained by the edge list, adjacency list and any built indexes
+     */
+    @Override
+    public long estimateRetainedBytes() {
+        long edgeObject = MemoryAccounting.align(MemoryAccounting.OBJECT_HEADER + 3 * 4);
+        long bytes = MemoryAccounting.arrayList(edges.size()) + edges.size() * edgeObject;
+        List<List<Edge>> adjacencyList = this.adjacencyList;
+        CompressedAdjacency reverseAdjacency = this.reverseAdjacency;
+        if (adjacencyList != null) {
+            bytes += MemoryAccounting.arrayList(n);
+            for (List<Edge> list : adjacencyList) {
+                bytes += MemoryAccounting.arrayList(list.size());
             }
         }
-        return true;
+        if (reverseAdjacency != null) {
+            bytes += MemoryAccounting.intArray(n + 1L) + 2 * MemoryAccounting.intArray(reverseAdjacency.getEdgeCount());
+        }
+        if (nodeWeights != null) {
+            bytes += MemoryAccounting.intArray(nodeWeights.length);
+        }
+        return bytes;
     }
 
     @Override
@@ -0,0 +1,200 @@
+package org.example.graph.models;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shape of a graph gathered in one pass over its edges: degree distribution, sources and sinks, self-loops,
+ * weight range, density and a rough depth estimate. Cheap enough to compute while loading; the planner
+ * picks engines from it. Edges outside [0, n) are not counted.
+ */
+public final class GraphProfile {
+    private final int n;
+    private final long edgeCount;
+    private final int sources; // in-degree 0
+    private final int sinks; // out-degree 0
+    private final int isolated; // neither in- nor out-edges
+    private final long selfLoops;
+    private final int maxOutDegree;
+    private final int maxInDegree;
+    private final long maxAbsWeight;
+    private final int[] outDegreeHistogram; // bucket b counts vertices with out-degree in [2^(b-1), 2^b), bucket 0 is degree 0
+
+    private GraphProfile(int n, long edgeCount, int sources, int sinks, int isolated, long selfLoops,
+                         int maxOutDegree, int maxInDegree, long maxAbsWeight, int[] outDegreeHistogram) {
+        this.n = n;
+        this.edgeCount = edgeCount;
+        this.sources = sources;
+        this.sinks = sinks;
+        this.isolated = isolated;
+        this.selfLoops = selfLoops;
+        this.maxOutDegree = maxOutDegree;
+        this.maxInDegree = maxInDegree;
+        this.maxAbsWeight = maxAbsWeight;
+        this.outDegreeHistogram = outDegreeHistogram;
+    }
+
+    /**
+     * Profile of an in-memory graph; GraphLoader attaches the same one to the graphs it loads
+     */
+    public static GraphProfile of(GraphView graph) {
+        Builder builder = new Builder(graph.getN());
+        List<Edge> edges = graph.getEdges();
+        for (int i = 0, m = edges.size(); i < m; i++) {
+            Edge edge = edges.get(i);
+            builder.edge(edge.getU(), edge.getV(), edge.getW());
+        }
+        return builder.finish(graph.isDirected(), graph.isNodeWeighted() ? graph.getNodeWeights() : null);
+    }
+
+    /**
+     * Incremental profile over a known vertex count: call edge() for every edge, then finish() once
+     */
+    public static final class Builder {
+        private final int n;
+        private final int[] outDegree;
+        private final int[] inDegree;
+        private long edgeCount;
+        private long selfLoops;
+        private long maxAbsWeight;
+
+        public Builder(int n) {
+            this.n = Math.max(0, n);
+            this.outDegree = new int[this.n];
+            this.inDegree = new int[this.n];
+        }
+
+        public Builder edge(int u, int v, int w) {
+            if (u < 0 || u >= n || v < 0 || v >= n) {
+                return this; // Out-of-range edges are skipped by the adjacency list too
+            }
+            outDegree[u]++;
+            inDegree[v]++;
+            edgeCount++;
+            if (u == v) {
+                selfLoops++;
+            }
+            maxAbsWeight = Math.max(maxAbsWeight, Math.abs((long) w));
+            return this;
+        }
+
+        public GraphProfile finish(boolean directed, int[] nodeWeights) {
+            int sources = 0;
+            int sinks = 0;
+            int isolated = 0;
+            int maxOut = 0;
+            int maxIn = 0;
+            int[] histogram = new int[33];
+            for (int v = 0; v < n; v++) {
+                int out = outDegree[v];
+                int in = inDegree[v];
+                if (!directed) {
+                    out += in; // Undirected edges are traversable both ways
+                    in = out;
+                }
+                if (in == 0) {
+                    sources++;
+                }
+                if (out == 0) {
+                    sinks++;
+                }
+                if (in == 0 && out == 0) {
+                    isolated++;
+                }
+                maxOut = Math.max(maxOut, out);
+                maxIn = Math.max(maxIn, in);
+                histogram[32 - Integer.numberOfLeadingZeros(out)]++;
+            }
+            long maxWeight = maxAbsWeight;
+            if (nodeWeights != null) {
+                for (int weight : nodeWeights) {
+                    maxWeight = Math.max(maxWeight, Math.abs((long) weight));
+                }
+            }
+            int buckets = histogram.length;
+            while (buckets > 1 && histogram[buckets - 1] == 0) {
+                buckets--;
+            }
+            return new GraphProfile(n, edgeCount, sources, sinks, isolated, selfLoops, maxOut, maxIn, maxWeight,
+                    Arrays.copyOf(histogram, buckets));
+        }
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getSources() {
+        return sources;
+    }
+
+    public int getSinks() {
+        return sinks;
+    }
+
+    public int getIsolated() {
+        return isolated;
+    }
+
+    public long getSelfLoops() {
+        return selfLoops;
+    }
+
+    public int getMaxOutDegree() {
+        return maxOutDegree;
+    }
+
+    public int getMaxInDegree() {
+        return maxInDegree;
+    }
+
+    /**
+     * Largest absolute edge weight, or node weight for node-weighted graphs
+     */
+    public long getMaxAbsWeight() {
+        return maxAbsWeight;
+    }
+
+    public int[] getOutDegreeHistogram() {
+        return outDegreeHistogram.clone();
+    }
+
+    public double getAverageDegree() {
+        return n == 0 ? 0 : (double) edgeCount / n;
+    }
+
+    /**
+     * Edges per possible ordered vertex pair
+     */
+    public double getDensity() {
+        return n <= 1 ? 0 : (double) edgeCount / ((double) n * (n - 1));
+    }
+
+    /**
+     * A graph without a source or without a sink cannot be acyclic, nor can one with a self-loop
+     */
+    public boolean isCertainlyCyclic() {
+        return n > 0 && (sources == 0 || sinks == 0 || selfLoops > 0);
+    }
+
+    /**
+     * Rough longest-chain estimate assuming the non-isolated vertices form layers as wide as the sources;
+     * a real DAG can be deeper or shallower, but wide, shallow graphs and long chains are told apart
+     */
+    public int getEstimatedDepth() {
+        int layered = n - isolated;
+        int width = Math.max(1, sources - isolated);
+        return layered == 0 ? 0 : Math.max(1, (layered + width - 1) / width);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GraphProfile{n=%d, m=%d, sources=%d, sinks=%d, selfLoops=%d, maxOut=%d, maxIn=%d, "
+                        + "avgDegree=%.2f, density=%.4f, depth~%d}", n, edgeCount, sources, sinks, selfLoops,
+                maxOutDegree, maxInDegree, getAverageDegree(), getDensity(), getEstimatedDepth());
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.graph.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One immutable version of a {@link VersionedGraph}: a shared {@link ImmutableGraph} base plus the edge
+ * operations applied since the last compaction. Pinning a version is just holding the reference; it never
+ * changes, however many versions are published after it.
+ * The delta is persistent: every write appends one {@link Op} that links to the previous operation and to the
+ * previous operation on the same source vertex, so a write is O(1) and a read of one vertex only walks that
+ * vertex's own operations.
+ */
+public final class GraphVersion {
+    private final long version;
+    private final ImmutableGraph base;
+    private final Lineage lineage;                  // shared by all versions over the same base
+    private final Op lastOp;                        // newest operation since the base, links to older ones
+    private final int deltaSize;                    // operations since the base
+    private volatile ImmutableGraph materialized;   // built on first toGraph(); racing builds are equivalent
+
+    /**
+     * One edge insertion or deletion, chained newest-first both overall and per source vertex
+     */
+    static final class Op {
+        final boolean add;
+        final int u;
+        final int v;
+        final int w;
+        final int sequence;         // 1-based position since the base
+        final Op previous;
+        final Op previousForSource; // older operation on the same u
+
+        Op(boolean add, int u, int v, int w, int sequence, Op previous, Op previousForSource) {
+            this.add = add;
+            this.u = u;
+            this.v = v;
+            this.w = w;
+            this.sequence = sequence;
+            this.previous = previous;
+            this.previousForSource = previousForSource;
+        }
+    }
+
+    /**
+     * Newest operation per source vertex for one base. Only the latest version appends to it; older versions
+     * skip operations whose sequence is past their own delta.
+     */
+    private static final class Lineage {
+        final Map<Integer, Op> latestBySource = new ConcurrentHashMap<>();
+        volatile int size;
+    }
+
+    private GraphVersion(long version, ImmutableGraph base, Lineage lineage, Op lastOp, int deltaSize) {
+        this.version = version;
+        this.base = base;
+        this.lineage = lineage;
+        this.lastOp = lastOp;
+        this.deltaSize = deltaSize;
+    }
+
+    static GraphVersion ofBase(long version, ImmutableGraph base) {
+        GraphVersion graphVersion = new GraphVersion(version, base, new Lineage(), null, 0);
+        graphVersion.materialized = base;
+        return graphVersion;
+    }
+
+    /**
+     * Returns the version after the operation in O(1); only the latest version of a base can be written,
+     * and callers serialize writes
+     */
+    GraphVersion apply(boolean add, int u, int v, int w) {
+        int n = base.getN();
+        if (u < 0 || u >= n || v < 0 || v >= n) {
+            throw new IllegalArgumentException("Edge endpoint out of range [0, " + n + "): " + u + " -> " + v);
+        }
+        if (lineage.size != deltaSize) {
+            throw new IllegalStateException("Version " + version + " is not the latest version of its base");
+        }
+        Op op = new Op(add, u, v, w, deltaSize + 1, lastOp, lineage.latestBySource.get(u));
+        lineage.latestBySource.put(u, op);
+        lineage.size = op.sequence;
+        return new GraphVersion(version + 1, base, lineage, op, op.sequence);
+    }
+
+    /**
+     * Operations applied after the given older version of the same base, oldest first
+     */
+    List<Op> operationsSince(GraphVersion older) {
+        List<Op> ops = new ArrayList<>();
+        for (Op op = lastOp; op != older.lastOp; op = op.previous) {
+            if (op == null) {
+                throw new IllegalStateException("Version " + older.version + " is not an ancestor of " + version);
+            }
+            ops.add(op);
+        }
+        Collections.reverse(ops);
+        return ops;
+    }
+
+    private static long key(int u, int v) {
+        return ((long) u << 32) | (v & 0xffffffffL);
+    }
+
+    // Newest operation on the vertex that belongs to this version, or null
+    private Op lastOpFor(int vertex) {
+        Op op = lineage.latestBySource.get(vertex);
+        while (op != null && op.sequence > deltaSize) {
+            op = op.previousForSource;
+        }
+        return op;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getN() {
+        return base.getN();
+    }
+
+    /**
+     * Number of edge operations not yet folded into the base
+     */
+    public int getDeltaSize() {
+        return deltaSize;
+    }
+
+    public boolean isCompacted() {
+        return deltaSize == 0;
+    }
+
+    /**
+     * Outgoing edges of the vertex in this version: surviving base edges, then added ones in insertion order.
+     * A removal hides every earlier u -> v edge, from the base or added.
+     */
+    public List<Edge> getOutgoingEdges(int vertex) {
+        List<Edge> baseEdges = base.getOutgoingEdges(vertex);
+        Op op = lastOpFor(vertex);
+        if (op == null) {
+            return baseEdges;
+        }
+        Set<Integer> removedTargets = new HashSet<>();
+        List<Edge> addedEdges = new ArrayList<>();
+        for (; op != null; op = op.previousForSource) {
+            if (!op.add) {
+                removedTargets.add(op.v);
+            } else if (!removedTargets.contains(op.v)) {
+                addedEdges.add(new Edge(op.u, op.v, op.w));
+            }
+        }
+        Collections.reverse(addedEdges);
+        List<Edge> edges = new ArrayList<>(baseEdges.size() + addedEdges.size());
+        for (Edge edge : baseEdges) {
+            if (!removedTargets.contains(edge.getV())) {
+                edges.add(edge);
+            }
+        }
+        edges.addAll(addedEdges);
+        return Collections.unmodifiableList(edges);
+    }
+
+    public boolean hasEdge(int u, int v) {
+        for (Edge edge : getOutgoingEdges(u)) {
+            if (edge.getV() == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This version as a graph the engines accept; the base itself when nothing changed since compaction
+     */
+    public ImmutableGraph toGraph() {
+        ImmutableGraph graph = materialized;
+        if (graph == null) {
+            // Replay the delta oldest first: added edges per source vertex and the removed base pairs
+            Map<Integer, List<Edge>> added = new TreeMap<>();
+            Set<Long> removed = new HashSet<>();
+            List<Op> ops = new ArrayList<>(deltaSize);
+            for (Op op = lastOp; op != null; op = op.previous) {
+                ops.add(op);
+            }
+            Collections.reverse(ops);
+            for (Op op : ops) {
+                List<Edge> list = added.computeIfAbsent(op.u, u -> new ArrayList<>());
+                if (op.add) {
+                    list.add(new Edge(op.u, op.v, op.w));
+                } else {
+                    list.removeIf(edge -> edge.getV() == op.v);
+                    removed.add(key(op.u, op.v));
+                }
+            }
+            List<Edge> edges = new ArrayList<>(base.getEdges().size() + deltaSize);
+            for (Edge edge : base.getEdges()) {
+                if (!removed.contains(key(edge.getU(), edge.getV()))) {
+                    edges.add(edge);
+                }
+            }
+            for (List<Edge> list : added.values()) {
+                edges.addAll(list);
+            }
+            Graph mutable = new Graph(base.isDirected(), base.getN(), edges, base.getSource(),
+                    base.getWeightModel(), base.getNodeWeights());
+            mutable.setName(base.getName());
+            graph = ImmutableGraph.copyOf(mutable);
+            materialized = graph;
+        }
+        return graph;
+    }
+
+    @Override
+    public String toString() {
+        return "GraphVersion{version=" + version + ", n=" + base.getN() + ", delta=" + deltaSize + '}';
+    }
+}
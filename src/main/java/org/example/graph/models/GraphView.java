@@ -0,0 +1,96 @@
+package org.example.graph.models;
+
+import java.util.List;
+
+/**
+ * Read access to a graph: everything the analysis engines use and nothing that changes it.
+ * Implemented by the mutable {@link Graph} and by {@link ImmutableGraph} snapshots, so engines accept either
+ * and an immutable snapshot never has to pretend to support setters.
+ */
+public interface GraphView {
+
+    boolean isDirected();
+
+    int getN();
+
+    List<Edge> getEdges();
+
+    int getSource();
+
+    String getWeightModel();
+
+    /**
+     * Identity for reports and events, e.g. the source file; may be null
+     */
+    String getName();
+
+    /**
+     * Content hash, see GraphFingerprint
+     */
+    String getFingerprint();
+
+    /**
+     * Shape summary for the planner, see GraphProfile
+     */
+    GraphProfile getProfile();
+
+    /**
+     * Per-vertex weights for weight_model "node", otherwise null; callers must not modify the array
+     */
+    int[] getNodeWeights();
+
+    /**
+     * True when weights sit on vertices (weight_model "node") instead of edges
+     */
+    default boolean isNodeWeighted() {
+        return Graph.NODE_WEIGHT_MODEL.equals(getWeightModel());
+    }
+
+    /**
+     * Gets the weight of a vertex, 0 for edge-weighted graphs
+     */
+    default int getNodeWeight(int vertex) {
+        return isNodeWeighted() ? getNodeWeights()[vertex] : 0;
+    }
+
+    List<List<Edge>> getAdjacencyList();
+
+    /**
+     * Gets all outgoing edges from a vertex, empty for a vertex outside the graph
+     */
+    List<Edge> getOutgoingEdges(int vertex);
+
+    int getOutDegree(int vertex);
+
+    /**
+     * Incoming edges of every vertex as a CSR
+     */
+    CompressedAdjacency getReverseAdjacency();
+
+    default int getInDegree(int vertex) {
+        return getReverseAdjacency().degree(vertex);
+    }
+
+    /**
+     * Estimates the bytes retained by the edge list and any built indexes
+     */
+    long estimateRetainedBytes();
+
+    /**
+     * Validates graph structure: a positive vertex count, a source and edge endpoints inside it, and one
+     * node weight per vertex for node-weighted graphs
+     */
+    default boolean validate() {
+        int n = getN();
+        if (n <= 0) return false;
+        if (getSource() < 0 || getSource() >= n) return false;
+        if (isNodeWeighted() && (getNodeWeights() == null || getNodeWeights().length != n)) return false;
+        for (Edge edge : getEdges()) {
+            if (edge.getU() < 0 || edge.getU() >= n ||
+                    edge.getV() < 0 || edge.getV() >= n) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
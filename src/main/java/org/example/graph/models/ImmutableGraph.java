@@ -0,0 +1,202 @@
+package org.example.graph.models;
+
+import org.example.graph.metrics.MemoryAccounting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only snapshot of a graph, safe to share between any number of analysis threads.
+ * The edges are copied into frozen Edge objects, and adjacency, reverse adjacency and degree arrays are built
+ * once in the constructor and held in final fields. Every read is therefore a plain, lock-free field access,
+ * and the snapshot is visible fully built to any thread that obtains a reference to it.
+ * It is a {@link GraphView}, not a Graph, so it has no setters at all; engines accept either.
+ */
+public final class ImmutableGraph implements GraphView {
+    private final boolean directed;
+    private final int n;
+    private final List<Edge> edges;
+    private final int source;
+    private final String weightModel;
+    private final int[] nodeWeights;
+    private final String name;
+    private final List<List<Edge>> adjacencyList;
+    private final CompressedAdjacency reverseAdjacency;
+    private final int[] outDegrees;
+    // Derived from the final fields, so racing first computations are equivalent
+    private volatile String fingerprint;
+    private volatile GraphProfile profile;
+
+    private ImmutableGraph(boolean directed, int n, List<Edge> edges, int source, String weightModel,
+                           int[] nodeWeights, String name) {
+        this.directed = directed;
+        this.n = n;
+        this.edges = edges;
+        this.source = source;
+        this.weightModel = weightModel;
+        this.nodeWeights = nodeWeights;
+        this.name = name;
+
+        List<List<Edge>> adjacency = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            adjacency.add(new ArrayList<>());
+        }
+        for (Edge edge : edges) {
+            if (edge.getU() < n && edge.getV() < n) {
+                adjacency.get(edge.getU()).add(edge);
+                if (!directed) {
+                    adjacency.get(edge.getV()).add(new FrozenEdge(edge.getV(), edge.getU(), edge.getW()));
+                }
+            }
+        }
+        this.outDegrees = new int[n];
+        for (int i = 0; i < n; i++) {
+            outDegrees[i] = adjacency.get(i).size();
+            adjacency.set(i, Collections.unmodifiableList(adjacency.get(i)));
+        }
+        this.adjacencyList = Collections.unmodifiableList(adjacency);
+        this.reverseAdjacency = CompressedAdjacency.reverseOf(this);
+    }
+
+    /**
+     * Copies the graph into an immutable snapshot; later changes to the source graph do not affect it
+     */
+    public static ImmutableGraph copyOf(GraphView graph) {
+        if (graph instanceof ImmutableGraph immutable) {
+            return immutable;
+        }
+        List<Edge> frozen = new ArrayList<>(graph.getEdges().size());
+        for (Edge edge : graph.getEdges()) {
+            frozen.add(new FrozenEdge(edge.getU(), edge.getV(), edge.getW()));
+        }
+        int[] nodeWeights = graph.getNodeWeights() != null ? graph.getNodeWeights().clone() : null;
+        return new ImmutableGraph(graph.isDirected(), graph.getN(), Collections.unmodifiableList(frozen),
+                graph.getSource(), graph.getWeightModel(), nodeWeights, graph.getName());
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int getN() {
+        return n;
+    }
+
+    @Override
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public String getWeightModel() {
+        return weightModel;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    // Shared array for tight loops; callers must not modify it
+    @Override
+    public int[] getNodeWeights() {
+        return nodeWeights;
+    }
+
+    @Override
+    public String getFingerprint() {
+        String hash = fingerprint;
+        if (hash == null) {
+            hash = GraphFingerprint.of(this);
+            fingerprint = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public GraphProfile getProfile() {
+        GraphProfile shape = profile;
+        if (shape == null) {
+            shape = GraphProfile.of(this);
+            profile = shape;
+        }
+        return shape;
+    }
+
+    @Override
+    public List<List<Edge>> getAdjacencyList() {
+        return adjacencyList;
+    }
+
+    @Override
+    public List<Edge> getOutgoingEdges(int vertex) {
+        return vertex < n ? adjacencyList.get(vertex) : List.of();
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return outDegrees[vertex];
+    }
+
+    @Override
+    public CompressedAdjacency getReverseAdjacency() {
+        return reverseAdjacency;
+    }
+
+    @Override
+    public long estimateRetainedBytes() {
+        long edgeObject = MemoryAccounting.align(MemoryAccounting.OBJECT_HEADER + 3 * 4);
+        long bytes = MemoryAccounting.arrayList(edges.size()) + edges.size() * edgeObject;
+        bytes += MemoryAccounting.arrayList(n) + MemoryAccounting.intArray(n);
+        for (List<Edge> list : adjacencyList) {
+            bytes += MemoryAccounting.arrayList(list.size());
+        }
+        bytes += MemoryAccounting.intArray(n + 1L) + 2 * MemoryAccounting.intArray(reverseAdjacency.getEdgeCount());
+        if (nodeWeights != null) {
+            bytes += MemoryAccounting.intArray(nodeWeights.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ImmutableGraph{directed=" + directed + ", n=" + n + ", edges=" + edges.size() + ", source=" + source
+                + ", weightModel='" + weightModel + "'}";
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("ImmutableGraph cannot be modified");
+    }
+
+    /**
+     * Edge whose setters throw, so shared snapshot edges cannot be changed in place
+     */
+    private static final class FrozenEdge extends Edge {
+        FrozenEdge(int u, int v, int w) {
+            super(u, v, w);
+        }
+
+        @Override
+        public void setU(int u) {
+            throw immutable();
+        }
+
+        @Override
+        public void setV(int v) {
+            throw immutable();
+        }
+
+        @Override
+        public void setW(int w) {
+            throw immutable();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.graph.models;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Graph under steady edge insertions and deletions, read through immutable {@link GraphVersion}s.
+ * Readers call {@link #snapshot()} - one atomic read - and keep that version as long as they like; they never
+ * take a lock. Writers are serialized by a lock, derive the next version from the current one by appending one
+ * operation to its persistent delta, and publish it atomically. Once the delta reaches the compaction threshold, a background thread
+ * folds it into a new base outside the writer lock and then replays any writes that arrived meanwhile.
+ */
+public class VersionedGraph implements AutoCloseable {
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1024;
+
+    private final AtomicReference<GraphVersion> current;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final int compactionThreshold;
+    private final ExecutorService compactor;
+
+    public VersionedGraph(GraphView initial) {
+        this(initial, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Starts at version 0 from a copy of the graph; compactionThreshold 0 disables background compaction.
+     * Only directed graphs are accepted: the delta records each operation under its source vertex alone.
+     */
+    public VersionedGraph(GraphView initial, int compactionThreshold) {
+        if (compactionThreshold < 0) {
+            throw new IllegalArgumentException("Compaction threshold must be non-negative: " + compactionThreshold);
+        }
+        if (!initial.isDirected()) {
+            throw new IllegalArgumentException("VersionedGraph needs a directed graph");
+        }
+        this.current = new AtomicReference<>(GraphVersion.ofBase(0, ImmutableGraph.copyOf(initial)));
+        this.compactionThreshold = compactionThreshold;
+        this.compactor = compactionThreshold > 0
+                ? Executors.newSingleThreadExecutor(task -> {
+                    Thread thread = new Thread(task, "graph-compactor");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * The latest published version, in O(1)
+     */
+    public GraphVersion snapshot() {
+        return current.get();
+    }
+
+    public GraphVersion addEdge(int u, int v, int w) {
+        return write(true, u, v, w);
+    }
+
+    /**
+     * Removes every u -> v edge
+     */
+    public GraphVersion removeEdge(int u, int v) {
+        return write(false, u, v, 0);
+    }
+
+    private GraphVersion write(boolean add, int u, int v, int w) {
+        GraphVersion next;
+        writeLock.lock();
+        try {
+            next = current.get().apply(add, u, v, w);
+            current.set(next);
+        } finally {
+            writeLock.unlock();
+        }
+        if (compactor != null && next.getDeltaSize() >= compactionThreshold
+                && compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                compactionScheduled.set(false);
+                compact();
+            });
+        }
+        return next;
+    }
+
+    /**
+     * Folds the delta of the current version into a new base; the content and version number stay the same.
+     * Writers are only blocked while operations that arrived during the rebuild are replayed.
+     */
+    public GraphVersion compact() {
+        compactionLock.lock();
+        try {
+            GraphVersion start = current.get();
+            if (start.isCompacted()) {
+                return start;
+            }
+            ImmutableGraph newBase = start.toGraph();
+
+            writeLock.lock();
+            try {
+                GraphVersion latest = current.get();
+                GraphVersion compacted = GraphVersion.ofBase(start.getVersion(), newBase);
+                for (GraphVersion.Op op : latest.operationsSince(start)) {
+                    compacted = compacted.apply(op.add, op.u, op.v, op.w);
+                }
+                current.set(compacted);
+                return compacted;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.example.graph.output;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.example.graph.dagsp.PathResult;
+import org.example.graph.metrics.Metrics;
+import org.example.graph.models.GraphView;
+import org.example.graph.pipeline.AnalysisResult;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams an analysis result in a machine-readable form instead of printing every vertex to the console.
+ * Per-vertex data is written straight from the result arrays through one buffered stream, with no path
+ * reconstruction; unreachable distances are written as null (JSON) or an empty cell (CSV).
+ * The target stream is flushed but never closed.
+ */
+public class ResultWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    public enum Format {
+        /** One JSON document: SCC ids, topological order, distance and predecessor arrays, phase metrics */
+        JSON,
+        /** Header plus one row per vertex: component, topological position, distances and predecessors */
+        CSV,
+        /** A few summary lines and no per-vertex output */
+        SUMMARY;
+
+        public static Format parse(String name) {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final Format format;
+
+    public ResultWriter(Format format) {
+        this.format = format;
+    }
+
+    public void write(AnalysisResult result, OutputStream out) throws IOException {
+        switch (format) {
+            case JSON -> writeJson(result, out);
+            case CSV -> writeCsv(result, out);
+            case SUMMARY -> writeSummary(result, out);
+        }
+    }
+
+    private void writeJson(AnalysisResult result, OutputStream out) throws IOException {
+        GraphView graph = result.getGraph();
+        int n = graph.getN();
+        JsonGenerator json = jsonFactory.createGenerator(new BufferedOutputStream(out, BUFFER_SIZE), JsonEncoding.UTF8);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        json.writeStartObject();
+        json.writeObjectFieldStart("graph");
+        json.writeStringField("name", graph.getName());
+        json.writeNumberField("vertices", n);
+        json.writeNumberField("edges", graph.getEdges().size());
+        json.writeNumberField("source", graph.getSource());
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("scc");
+        json.writeNumberField("count", result.getSccResult().getComponents().size());
+        json.writeFieldName("componentIds");
+        int[] componentId = result.getSccResult().getComponentId();
+        json.writeArray(componentId, 0, componentId.length);
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("topologicalOrder");
+        json.writeBooleanField("valid", result.getTopoResult().isValid());
+        writeIntList(json, "components", result.getTopoResult().getComponentOrder());
+        writeIntList(json, "vertices", result.getTopoResult().getVertexOrder());
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("paths");
+        writePaths(json, "shortest", result.getShortestPaths(), n);
+        writePaths(json, "longest", result.getLongestPaths(), n);
+        json.writeEndObject();
+
+        json.writeArrayFieldStart("metrics");
+        for (Metrics metrics : result.getPhaseMetrics()) {
+            json.writeStartObject();
+            for (Map.Entry<String, Object> entry : metrics.toMap().entrySet()) {
+                json.writeObjectField(entry.getKey(), entry.getValue());
+            }
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+        json.close(); // Flushes the buffer; the target stays open
+    }
+
+    private static void writeIntList(JsonGenerator json, String name, List<Integer> values) throws IOException {
+        json.writeArrayFieldStart(name);
+        for (int i = 0, size = values.size(); i < size; i++) {
+            json.writeNumber(values.get(i));
+        }
+        json.writeEndArray();
+    }
+
+    private static void writePaths(JsonGenerator json, String name, PathResult paths, int n) throws IOException {
+        if (paths == null) {
+            json.writeNullField(name);
+            return;
+        }
+        Map<Integer, Integer> distances = paths.getDistances();
+        Map<Integer, Integer> predecessors = paths.getPredecessors();
+
+        json.writeObjectFieldStart(name);
+        json.writeArrayFieldStart("distances");
+        for (int v = 0; v < n; v++) {
+            Integer d = distances.get(v);
+            if (isReachable(d)) {
+                json.writeNumber(d);
+            } else {
+                json.writeNull();
+            }
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("predecessors");
+        for (int v = 0; v < n; v++) {
+            json.writeNumber(predecessors.getOrDefault(v, -1));
+        }
+        json.writeEndArray();
+        writeIntList(json, "criticalPath", paths.getCriticalPath());
+        json.writeNumberField("criticalPathLength", paths.getCriticalPathLength());
+        json.writeEndObject();
+    }
+
+    private void writeCsv(AnalysisResult result, OutputStream out) throws IOException {
+        int n = result.getGraph().getN();
+        int[] componentId = result.getSccResult().getComponentId();
+        int[] topoPosition = new int[n];
+        List<Integer> vertexOrder = result.getTopoResult().getVertexOrder();
+        for (int i = 0, size = vertexOrder.size(); i < size; i++) {
+            topoPosition[vertexOrder.get(i)] = i;
+        }
+        PathResult shortest = result.getShortestPaths();
+        PathResult longest = result.getLongestPaths();
+
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        csv.write("vertex,component,topo_position,shortest_distance,shortest_predecessor,"
+                + "longest_distance,longest_predecessor\n");
+        StringBuilder row = new StringBuilder(64);
+        for (int v = 0; v < n; v++) {
+            row.setLength(0);
+            row.append(v).append(',').append(componentId[v]).append(',').append(topoPosition[v]);
+            appendPathCells(row, shortest, v);
+            appendPathCells(row, longest, v);
+            row.append('\n');
+            csv.append(row);
+        }
+        csv.flush();
+    }
+
+    private static void appendPathCells(StringBuilder row, PathResult paths, int v) {
+        row.append(',');
+        if (paths == null) {
+            row.append(',');
+            return;
+        }
+        Integer d = paths.getDistances().get(v);
+        if (isReachable(d)) {
+            row.append(d.intValue());
+        }
+        row.append(',');
+        Integer predecessor = paths.getPredecessors().get(v);
+        if (predecessor != null) {
+            row.append(predecessor.intValue());
+        }
+    }
+
+    private void writeSummary(AnalysisResult result, OutputStream out) throws IOException {
+        GraphView graph = result.getGraph();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Graph: ").append(graph.getN()).append(" vertices, ").append(graph.getEdges().size()).append(" edges\n");
+        sb.append("SCCs: ").append(result.getSccResult().getComponents().size()).append(" components\n");
+        sb.append("Largest SCC: ").append(result.getLargestComponentSize()).append(" vertices\n");
+        sb.append("Topological Order: ").append(result.getTopoResult().isValid() ? "VALID" : "INVALID").append('\n');
+        sb.append("Is DAG: ").append(result.isDag() ? "Yes" : "No (has cycles)").append('\n');
+        if (result.getLongestPaths() != null) {
+            sb.append("Critical Path Length: ").append(result.getLongestPaths().getCriticalPathLength()).append('\n');
+        }
+        sb.append(String.format("Total Time: %.3f ms%n", result.getTotalNanos() / 1_000_000.0));
+        out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    // Both engines mark unreachable vertices with the int extremes
+    private static boolean isReachable(Integer distance) {
+        return distance != null && distance != Integer.MAX_VALUE && distance != Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.graph.pipeline;
+
+import org.example.graph.dagsp.DAGShortestLongestPaths;
+import org.example.graph.dagsp.PathResult;
+import org.example.graph.metrics.Metrics;
+import org.example.graph.models.GraphView;
+import org.example.graph.scc.SCCResult;
+import org.example.graph.scc.TarjanSCC;
+import org.example.graph.topo.AcyclicityChecker;
+import org.example.graph.topo.AcyclicityResult;
+import org.example.graph.topo.KahnTopologicalSort;
+import org.example.graph.topo.TopologicalSortResult;
+import org.example.graph.trace.AlgorithmListener;
+import org.example.graph.util.AnalysisWorkspace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the full analysis Main performs (SCC, topological sort, shortest and longest paths) without printing.
+ * An AnalysisPlanner picks the engines from the graph's profile first and records why in the first phase's
+ * metrics. Unless the profile proves a cycle an acyclicity check runs next; DAGs skip Tarjan and Kahn and go
+ * straight to the path engines with the check's DFS order. Path results are left out when the plan finds that int
+ * path sums may overflow. Every call uses fresh engines, so one pipeline can be shared between threads.
+ */
+public class AnalysisPipeline {
+    private final AnalysisPlanner planner;
+
+    public AnalysisPipeline() {
+        this(new AnalysisPlanner());
+    }
+
+    public AnalysisPipeline(AnalysisPlanner planner) {
+        this.planner = planner;
+    }
+
+    public AnalysisResult analyze(GraphView graph) {
+        return analyze(graph, new AnalysisWorkspace());
+    }
+
+    /**
+     * Runs all engines on the caller's workspace; the workspace must not be used by another thread meanwhile
+     */
+    public AnalysisResult analyze(GraphView graph, AnalysisWorkspace workspace) {
+        Metrics planMetrics = Metrics.create("AnalysisPlanner");
+        AnalysisPlan plan = planner.plan(graph, planMetrics);
+        List<Metrics> phases = new ArrayList<>(List.of(planMetrics));
+
+        if (plan.getSccStrategy() == AnalysisPlan.SccStrategy.DAG_FAST_PATH) {
+            AcyclicityChecker checker = new AcyclicityChecker(Metrics.create("AcyclicityChecker"),
+                    AlgorithmListener.NONE, workspace);
+            AcyclicityResult acyclicity = checker.check(graph);
+            phases.add(checker.getMetrics());
+            if (acyclicity.isAcyclic()) {
+                SCCResult sccResult = SCCResult.ofAcyclic(graph, acyclicity.getTopologicalOrder());
+                TopologicalSortResult topoResult = acyclicity.toTopologicalSortResult();
+                return withPaths(graph, plan, sccResult, topoResult, workspace, phases);
+            }
+        }
+
+        TarjanSCC tarjan = new TarjanSCC(Metrics.create("TarjanSCC"), AlgorithmListener.NONE, workspace);
+        SCCResult sccResult = tarjan.findSCCs(graph);
+        phases.add(tarjan.getMetrics());
+        if (plan.isParallelCondensation()) {
+            sccResult.getCondensationGraphParallel(); // Cached, so Kahn picks it up
+        }
+
+        KahnTopologicalSort kahn = new KahnTopologicalSort(Metrics.create("KahnTopologicalSort"),
+                AlgorithmListener.NONE, workspace);
+        TopologicalSortResult topoResult = kahn.sortFromSCC(graph, sccResult);
+        phases.add(kahn.getMetrics());
+        return withPaths(graph, plan, sccResult, topoResult, workspace, phases);
+    }
+
+    // Paths stay null when the plan says an int sum may wrap; PathFinder's 64-bit engine covers those graphs
+    private static AnalysisResult withPaths(GraphView graph, AnalysisPlan plan, SCCResult sccResult,
+                                            TopologicalSortResult topoResult, AnalysisWorkspace workspace,
+                                            List<Metrics> phaseMetrics) {
+        PathResult shortest = null;
+        PathResult longest = null;
+        Metrics pathMetrics = Metrics.create("DAGShortestLongestPaths");
+        int source = graph.getSource();
+        if (plan.isPathOverflowPossible()) {
+            pathMetrics.recordNote("paths", "skipped: int path sums may overflow");
+        } else if (topoResult.isValid() && source >= 0 && source < graph.getN()) {
+            DAGShortestLongestPaths pathFinder = new DAGShortestLongestPaths(pathMetrics, AlgorithmListener.NONE,
+                    workspace);
+            Map<String, PathResult> paths = pathFinder.computeAllPaths(graph, topoResult, source);
+            shortest = paths.get("shortest");
+            longest = paths.get("longest");
+        }
+
+        phaseMetrics.add(pathMetrics);
+        return new AnalysisResult(graph, sccResult, topoResult, shortest, longest, List.copyOf(phaseMetrics));
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.graph.pipeline;
+
+import org.example.graph.metrics.Metrics;
+import org.example.graph.models.GraphProfile;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Engines chosen for one graph by {@link AnalysisPlanner}, with the reason behind each choice
+ */
+public class AnalysisPlan {
+
+    public enum SccStrategy {
+        /** Acyclicity check first; a DAG skips Tarjan and the condensation entirely */
+        DAG_FAST_PATH,
+        /** Straight to Tarjan: the profile already proves a cycle, so the check would be wasted */
+        TARJAN
+    }
+
+    private final GraphProfile profile;
+    private final SccStrategy sccStrategy;
+    private final boolean parallelCondensation;
+    private final boolean pathOverflowPossible;
+    private final Map<String, String> reasons;
+
+    AnalysisPlan(GraphProfile profile, SccStrategy sccStrategy, boolean parallelCondensation,
+                 boolean pathOverflowPossible, Map<String, String> reasons) {
+        this.profile = profile;
+        this.sccStrategy = sccStrategy;
+        this.parallelCondensation = parallelCondensation;
+        this.pathOverflowPossible = pathOverflowPossible;
+        this.reasons = Collections.unmodifiableMap(new LinkedHashMap<>(reasons));
+    }
+
+    public GraphProfile getProfile() {
+        return profile;
+    }
+
+    public SccStrategy getSccStrategy() {
+        return sccStrategy;
+    }
+
+    public boolean isParallelCondensation() {
+        return parallelCondensation;
+    }
+
+    /**
+     * True when a path sum could exceed the int range of DAGShortestLongestPaths; PathFinder's 64-bit engine is safe
+     */
+    public boolean isPathOverflowPossible() {
+        return pathOverflowPossible;
+    }
+
+    /**
+     * One entry per phase ("plan.scc", "plan.condensation", "plan.paths"): the choice and why
+     */
+    public Map<String, String> getReasons() {
+        return reasons;
+    }
+
+    /**
+     * Records the profile and every decision as notes of the given metrics
+     */
+    public void recordTo(Metrics metrics) {
+        metrics.recordNote("profile", profile.toString());
+        for (Map.Entry<String, String> reason : reasons.entrySet()) {
+            metrics.recordNote(reason.getKey(), reason.getValue());
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Analysis plan for ").append(profile).append(":\n");
+        for (Map.Entry<String, String> reason : reasons.entrySet()) {
+            sb.append("  ").append(reason.getKey()).append(": ").append(reason.getValue()).append("\n");
+        }
+        return sb.toString();
+    }
+}
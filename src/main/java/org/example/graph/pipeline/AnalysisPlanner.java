@@ -0,0 +1,85 @@
+package org.example.graph.pipeline;
+
+import org.example.graph.metrics.Metrics;
+import org.example.graph.models.GraphView;
+import org.example.graph.models.GraphProfile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Picks the engines for each phase from a graph's profile, so the pipeline does not hard-wire one path:
+ * DAG fast path or Tarjan, sequential or parallel condensation, and whether int path sums are safe.
+ * Planning is a handful of comparisons on the profile the loader already computed.
+ */
+public class AnalysisPlanner {
+    // Below this many edges the condensation is built faster on one thread than forked; SCCResult itself
+    // always builds sequentially, so this is the only place the choice is made
+    static final long PARALLEL_CONDENSATION_EDGES = 1 << 20;
+
+    private final int parallelism;
+
+    public AnalysisPlanner() {
+        this(ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * @param parallelism threads available to parallel phases; 1 keeps every phase sequential
+     */
+    public AnalysisPlanner(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Plans from the graph's profile (computed here if the loader did not attach one), timed and recorded in metrics
+     */
+    public AnalysisPlan plan(GraphView graph, Metrics metrics) {
+        metrics.reset();
+        metrics.startTimer();
+        AnalysisPlan plan = plan(graph.getProfile());
+        metrics.stopTimer();
+        plan.recordTo(metrics);
+        return plan;
+    }
+
+    public AnalysisPlan plan(GraphProfile profile) {
+        Map<String, String> reasons = new LinkedHashMap<>();
+
+        // SCC phase: the acyclicity check pays off unless the profile already proves a cycle
+        AnalysisPlan.SccStrategy scc;
+        if (profile.isCertainlyCyclic()) {
+            scc = AnalysisPlan.SccStrategy.TARJAN;
+            String proof = profile.getSelfLoops() > 0 ? profile.getSelfLoops() + " self-loops"
+                    : profile.getSources() == 0 ? "no vertex without in-edges" : "no vertex without out-edges";
+            reasons.put("plan.scc", "tarjan: cycle certain (" + proof + ")");
+        } else {
+            scc = AnalysisPlan.SccStrategy.DAG_FAST_PATH;
+            reasons.put("plan.scc", String.format("dag-fast-path: %d sources, %d sinks, depth~%d; may be a DAG, "
+                    + "check stops at the first back edge", profile.getSources(), profile.getSinks(),
+                    profile.getEstimatedDepth()));
+        }
+
+        // Condensation: only built when the graph turns out cyclic
+        boolean parallelCondensation = parallelism > 1 && profile.getEdgeCount() >= PARALLEL_CONDENSATION_EDGES;
+        reasons.put("plan.condensation", parallelCondensation
+                ? String.format("parallel(%d): %d edges", parallelism, profile.getEdgeCount())
+                : String.format("sequential: %d edges, parallelism %d", profile.getEdgeCount(), parallelism));
+
+        // Paths: a simple path has at most n - 1 steps, each adding at most the largest weight (fits a long)
+        long bound = Math.max(0, profile.getN() - 1L) * profile.getMaxAbsWeight();
+        boolean overflowPossible = bound > Integer.MAX_VALUE;
+        reasons.put("plan.paths", overflowPossible
+                ? "no int paths, overflow possible: (n-1) * max weight " + profile.getMaxAbsWeight() + " exceeds int range"
+                : "int: path sums bounded by " + bound);
+
+        return new AnalysisPlan(profile, scc, parallelCondensation, overflowPossible, reasons);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.graph.pipeline;
+
+import org.example.graph.dagsp.PathResult;
+import org.example.graph.metrics.Metrics;
+import org.example.graph.models.GraphView;
+import org.example.graph.scc.SCCResult;
+import org.example.graph.topo.TopologicalSortResult;
+
+import java.util.List;
+
+/**
+ * Everything one full analysis produced: SCCs, topological order, both path results and the phase metrics
+ */
+public class AnalysisResult {
+    private final GraphView graph;
+    private final SCCResult sccResult;
+    private final TopologicalSortResult topoResult;
+    private final PathResult shortestPaths;
+    private final PathResult longestPaths;
+    private final List<Metrics> phaseMetrics;
+
+    public AnalysisResult(GraphView graph, SCCResult sccResult, TopologicalSortResult topoResult,
+                          PathResult shortestPaths, PathResult longestPaths, List<Metrics> phaseMetrics) {
+        this.graph = graph;
+        this.sccResult = sccResult;
+        this.topoResult = topoResult;
+        this.shortestPaths = shortestPaths;
+        this.longestPaths = longestPaths;
+        this.phaseMetrics = phaseMetrics;
+    }
+
+    public GraphView getGraph() {
+        return graph;
+    }
+
+    public SCCResult getSccResult() {
+        return sccResult;
+    }
+
+    public TopologicalSortResult getTopoResult() {
+        return topoResult;
+    }
+
+    public PathResult getShortestPaths() {
+        return shortestPaths;
+    }
+
+    public PathResult getLongestPaths() {
+        return longestPaths;
+    }
+
+    public List<Metrics> getPhaseMetrics() {
+        return phaseMetrics;
+    }
+
+    /**
+     * Summed elapsed time of all phases
+     */
+    public long getTotalNanos() {
+        long total = 0;
+        for (Metrics metrics : phaseMetrics) {
+            total += metrics.getElapsedTimeNanos();
+        }
+        return total;
+    }
+
+    public int getLargestComponentSize() {
+        int largest = 0;
+        for (int c = 0; c < sccResult.getComponentCount(); c++) {
+            largest = Math.max(largest, sccResult.getComponentSize(c));
+        }
+        return largest;
+    }
+
+    public boolean isDag() {
+        return sccResult.getComponentCount() == graph.getN();
+    }
+}
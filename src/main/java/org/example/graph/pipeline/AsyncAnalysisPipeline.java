@@ -0,0 +1,175 @@
+package org.example.graph.pipeline;
+
+import org.example.graph.dagsp.DAGShortestLongestPaths;
+import org.example.graph.dagsp.PathResult;
+import org.example.graph.metrics.Metrics;
+import org.example.graph.models.Graph;
+import org.example.graph.models.GraphView;
+import org.example.graph.scc.SCCResult;
+import org.example.graph.scc.TarjanSCC;
+import org.example.graph.topo.KahnTopologicalSort;
+import org.example.graph.topo.TopologicalSort;
+import org.example.graph.topo.TopologicalSortResult;
+import org.example.graph.util.GraphLoader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The analysis as CompletableFuture stages: load -> SCC -> topological sort -> {validation, shortest, longest}.
+ * Validation and the two path sweeps only depend on the order, so they run concurrently. Loading runs on
+ * virtual threads and everything else on the compute executor (the common pool unless one is supplied;
+ * supply threads with a deep stack for graphs with very long DFS paths).
+ */
+public class AsyncAnalysisPipeline {
+    private static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual().start(task);
+
+    private final Executor computeExecutor;
+
+    public AsyncAnalysisPipeline() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public AsyncAnalysisPipeline(Executor computeExecutor) {
+        this.computeExecutor = computeExecutor;
+    }
+
+    /**
+     * Futures for every phase of one graph's analysis
+     */
+    public static final class Stages {
+        private final CompletableFuture<? extends GraphView> graph;
+        private final CompletableFuture<SCCResult> scc;
+        private final CompletableFuture<TopologicalSortResult> topologicalOrder;
+        private final CompletableFuture<Boolean> orderValid;
+        private final CompletableFuture<PathResult> shortestPaths;
+        private final CompletableFuture<PathResult> longestPaths;
+        private final CompletableFuture<AnalysisResult> result;
+
+        private Stages(CompletableFuture<? extends GraphView> graph, CompletableFuture<SCCResult> scc,
+                       CompletableFuture<TopologicalSortResult> topologicalOrder, CompletableFuture<Boolean> orderValid,
+                       CompletableFuture<PathResult> shortestPaths, CompletableFuture<PathResult> longestPaths,
+                       CompletableFuture<AnalysisResult> result) {
+            this.graph = graph;
+            this.scc = scc;
+            this.topologicalOrder = topologicalOrder;
+            this.orderValid = orderValid;
+            this.shortestPaths = shortestPaths;
+            this.longestPaths = longestPaths;
+            this.result = result;
+        }
+
+        public CompletableFuture<? extends GraphView> graph() {
+            return graph;
+        }
+
+        public CompletableFuture<SCCResult> scc() {
+            return scc;
+        }
+
+        public CompletableFuture<TopologicalSortResult> topologicalOrder() {
+            return topologicalOrder;
+        }
+
+        /**
+         * Whether the vertex order respects every edge between different components
+         */
+        public CompletableFuture<Boolean> orderValid() {
+            return orderValid;
+        }
+
+        /**
+         * Completes with null when the graph has no valid order or no valid source
+         */
+        public CompletableFuture<PathResult> shortestPaths() {
+            return shortestPaths;
+        }
+
+        public CompletableFuture<PathResult> longestPaths() {
+            return longestPaths;
+        }
+
+        public CompletableFuture<AnalysisResult> result() {
+            return result;
+        }
+    }
+
+    /**
+     * Reads a graph file on a virtual thread
+     */
+    public CompletableFuture<Graph> load(Path file) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return GraphLoader.loadFromJson(file.toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, VIRTUAL_THREADS);
+    }
+
+    public Stages analyze(Path file) {
+        return analyze(load(file));
+    }
+
+    public Stages analyze(GraphView graph) {
+        return analyze(CompletableFuture.completedFuture(graph));
+    }
+
+    /**
+     * Wires every phase behind the graph future; nothing blocks the calling thread
+     */
+    public Stages analyze(CompletableFuture<? extends GraphView> graph) {
+        TarjanSCC tarjan = new TarjanSCC();
+        KahnTopologicalSort kahn = new KahnTopologicalSort();
+        Metrics pathMetrics = Metrics.create("DAGShortestLongestPaths");
+
+        CompletableFuture<SCCResult> scc = graph.thenApplyAsync(tarjan::findSCCs, computeExecutor);
+        CompletableFuture<TopologicalSortResult> topo = scc.thenCombineAsync(graph,
+                (sccResult, g) -> kahn.sortFromSCC(g, sccResult), computeExecutor);
+
+        // Validation only reads the finished order, so it runs alongside the path sweeps
+        CompletableFuture<Boolean> orderValid = topo.thenCombineAsync(graph, (order, g) -> order.isValid()
+                && TopologicalSort.validateTopologicalOrder(g, order.getVertexOrder(), scc.join()), computeExecutor);
+        CompletableFuture<PathResult> shortest = topo.thenCombineAsync(graph, (order, g) -> hasPaths(g, order)
+                ? new DAGShortestLongestPaths(pathMetrics).shortestPathsFromSource(g, order, g.getSource())
+                : null, computeExecutor);
+        CompletableFuture<PathResult> longest = topo.thenCombineAsync(graph, (order, g) -> hasPaths(g, order)
+                ? new DAGShortestLongestPaths().longestPathsFromSource(g, order, g.getSource())
+                : null, computeExecutor);
+
+        CompletableFuture<AnalysisResult> result = CompletableFuture.allOf(orderValid, shortest, longest)
+                .thenApply(ignored -> new AnalysisResult(graph.join(), scc.join(), topo.join(), shortest.join(),
+                        longest.join(), List.of(tarjan.getMetrics(), kahn.getMetrics(), pathMetrics)));
+        return new Stages(graph, scc, topo, orderValid, shortest, longest, result);
+    }
+
+    /**
+     * Analyzes the files in order. Files are read one after another, each read starting as soon as the
+     * previous one finishes, so reading the next graph overlaps the analysis of the current one.
+     * Completes exceptionally if any file fails; use {@link #analyze(Path)} per file to handle failures one by one.
+     */
+    public CompletableFuture<List<AnalysisResult>> analyzeAll(List<Path> files) {
+        List<CompletableFuture<AnalysisResult>> results = new ArrayList<>(files.size());
+        CompletableFuture<?> previousLoad = CompletableFuture.completedFuture(null);
+        for (Path file : files) {
+            // Chain loads without propagating a failed read to the next file
+            CompletableFuture<Graph> loaded = previousLoad.handle((ignored, error) -> null)
+                    .thenCompose(ignored -> load(file));
+            previousLoad = loaded;
+            results.add(analyze(loaded).result());
+        }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    private static boolean hasPaths(GraphView graph, TopologicalSortResult order) {
+        int source = graph.getSource();
+        return order.isValid() && source >= 0 && source < graph.getN();
+    }
+}
@@ -0,0 +1,258 @@
+package org.example.graph.pipeline;
+
+import org.example.graph.dagsp.PathResult;
+import org.example.graph.metrics.ConcurrentMetrics;
+import org.example.graph.metrics.Metrics;
+import org.example.graph.models.Edge;
+import org.example.graph.models.Graph;
+import org.example.graph.models.GraphView;
+import org.example.graph.scc.SCCResult;
+import org.example.graph.scc.WeakComponents;
+import org.example.graph.topo.TopologicalSortResult;
+import org.example.graph.util.AnalysisWorkspace;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Full analysis of a graph made of many disconnected islands, one island group per ForkJoin task.
+ * A union-find pass splits the graph into weakly connected components; small islands are packed into groups of
+ * similar size so the task count tracks the pool rather than the island count. Every group runs the regular
+ * pipeline (plan, SCC or DAG fast path, topological sort) on its own subgraph, and the source's group also runs
+ * the path engines, since nothing outside the source's island is reachable. The parts are merged into one
+ * result with global vertex and component ids. A graph with a single group takes the regular pipeline directly.
+ */
+public class PartitionedAnalysisPipeline extends AnalysisPipeline {
+    private static final int GROUPS_PER_THREAD = 4; // Slack for uneven islands
+    // Unreachable distances as DAGShortestLongestPaths stores them
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int NEG_UNREACHABLE = Integer.MIN_VALUE;
+
+    private final ForkJoinPool pool;
+    // Pool threads are long-lived, so each keeps one workspace for all the groups it analyzes
+    private final ThreadLocal<AnalysisWorkspace> workspaces = ThreadLocal.withInitial(AnalysisWorkspace::new);
+
+    public PartitionedAnalysisPipeline() {
+        this(new AnalysisPlanner(), ForkJoinPool.commonPool());
+    }
+
+    public PartitionedAnalysisPipeline(AnalysisPlanner planner, ForkJoinPool pool) {
+        super(planner);
+        this.pool = pool;
+    }
+
+    /**
+     * The caller's workspace is only used when the graph forms a single group; groups use per-thread workspaces
+     */
+    @Override
+    public AnalysisResult analyze(GraphView graph, AnalysisWorkspace workspace) {
+        Metrics partitionMetrics = Metrics.create("WeakComponents");
+        partitionMetrics.reset();
+        partitionMetrics.startTimer();
+        WeakComponents islands = WeakComponents.of(graph);
+        int[] groupOf = group(islands, pool.getParallelism() * GROUPS_PER_THREAD);
+        int groupCount = islands.getCount() == 0 ? 0 : groupOf[islands.getCount() - 1] + 1;
+        partitionMetrics.incrementVerticesVisited(graph.getN());
+        partitionMetrics.incrementEdgesRelaxed(graph.getEdges().size());
+        partitionMetrics.stopTimer();
+        partitionMetrics.recordNote("partition", islands.getCount() + " islands in " + groupCount + " groups");
+
+        if (groupCount <= 1) {
+            AnalysisResult whole = super.analyze(graph, workspace);
+            List<Metrics> phases = new ArrayList<>(List.of(partitionMetrics));
+            phases.addAll(whole.getPhaseMetrics());
+            return new AnalysisResult(graph, whole.getSccResult(), whole.getTopoResult(), whole.getShortestPaths(),
+                    whole.getLongestPaths(), List.copyOf(phases));
+        }
+
+        Group[] groups = split(graph, islands, groupOf, groupCount);
+        AnalysisResult[] parts = new AnalysisResult[groupCount];
+        pool.submit(() -> IntStream.range(0, groupCount).parallel()
+                .forEach(g -> parts[g] = super.analyze(groups[g].toGraph(graph), workspaces.get()))).join();
+        return merge(graph, groups, parts, partitionMetrics);
+    }
+
+    // Consecutive islands share a group until it holds about 1/targetGroups of all vertices and edges
+    private static int[] group(WeakComponents islands, int targetGroups) {
+        int count = islands.getCount();
+        long total = 0;
+        for (int c = 0; c < count; c++) {
+            total += islands.getSize(c) + islands.getEdgeCount(c);
+        }
+        long target = Math.max(1, total / Math.max(1, targetGroups));
+        int[] groupOf = new int[count];
+        int group = 0;
+        long filled = 0;
+        for (int c = 0; c < count; c++) {
+            if (filled >= target) {
+                group++;
+                filled = 0;
+            }
+            groupOf[c] = group;
+            filled += islands.getSize(c) + islands.getEdgeCount(c);
+        }
+        return groupOf;
+    }
+
+    /**
+     * Vertices of one island group (global ids, local id = position) and its edges relabeled to local ids
+     */
+    private static final class Group {
+        int[] vertices;
+        int size;
+        final List<Edge> edges = new ArrayList<>();
+        int source = -1;
+
+        Graph toGraph(GraphView graph) {
+            int[] nodeWeights = null;
+            if (graph.isNodeWeighted()) {
+                nodeWeights = new int[size];
+                for (int i = 0; i < size; i++) {
+                    nodeWeights[i] = graph.getNodeWeight(vertices[i]);
+                }
+            }
+            return new Graph(graph.isDirected(), size, edges, source, graph.getWeightModel(), nodeWeights);
+        }
+    }
+
+    // One pass over the vertices and one over the edges, in edge order so engines see the same tie-breaking
+    private static Group[] split(GraphView graph, WeakComponents islands, int[] groupOf, int groupCount) {
+        Group[] groups = new Group[groupCount];
+        int[] sizes = new int[groupCount];
+        for (int c = 0; c < islands.getCount(); c++) {
+            sizes[groupOf[c]] += islands.getSize(c);
+        }
+        for (int g = 0; g < groupCount; g++) {
+            groups[g] = new Group();
+            groups[g].vertices = new int[sizes[g]];
+        }
+
+        int n = Math.max(0, graph.getN());
+        int[] localId = new int[n];
+        for (int v = 0; v < n; v++) {
+            Group group = groups[groupOf[islands.getComponentOf(v)]];
+            localId[v] = group.size;
+            group.vertices[group.size++] = v;
+        }
+        int source = graph.getSource();
+        if (source >= 0 && source < n) {
+            groups[groupOf[islands.getComponentOf(source)]].source = localId[source];
+        }
+
+        for (Edge edge : graph.getEdges()) {
+            int u = edge.getU();
+            int v = edge.getV();
+            if (u >= 0 && u < n && v >= 0 && v < n) {
+                groups[groupOf[islands.getComponentOf(u)]].edges.add(new Edge(localId[u], localId[v], edge.getW()));
+            }
+        }
+        return groups;
+    }
+
+    // Components and orders are concatenated group by group; no edge crosses groups, so the orders stay valid
+    private static AnalysisResult merge(GraphView graph, Group[] groups, AnalysisResult[] parts,
+                                        Metrics partitionMetrics) {
+        int n = Math.max(0, graph.getN());
+        int componentCount = 0;
+        for (AnalysisResult part : parts) {
+            componentCount += part.getSccResult().getComponentCount();
+        }
+        int[] componentOffsets = new int[componentCount + 1];
+        int[] members = new int[n];
+        int[] componentId = new int[n];
+        int[] componentOrder = new int[componentCount];
+        int[] vertexOrder = new int[n];
+        boolean hasCycle = false;
+
+        int componentBase = 0;
+        int vertexBase = 0;
+        PathResult shortest = null;
+        PathResult longest = null;
+        for (int g = 0; g < groups.length; g++) {
+            int[] vertices = groups[g].vertices;
+            SCCResult scc = parts[g].getSccResult();
+            int[] localOffsets = scc.getComponentOffsets();
+            int[] localMembers = scc.getMembers();
+            int[] localComponentId = scc.getComponentId();
+            int localComponents = scc.getComponentCount();
+            for (int c = 0; c < localComponents; c++) {
+                componentOffsets[componentBase + c + 1] = vertexBase + localOffsets[c + 1];
+            }
+            for (int i = 0; i < vertices.length; i++) {
+                members[vertexBase + i] = vertices[localMembers[i]];
+                componentId[vertices[i]] = componentBase + localComponentId[i];
+            }
+
+            TopologicalSortResult topo = parts[g].getTopoResult();
+            hasCycle |= topo.hasCycle();
+            int[] localComponentOrder = topo.getComponentOrderArray();
+            for (int i = 0; i < localComponentOrder.length; i++) {
+                componentOrder[componentBase + i] = componentBase + localComponentOrder[i];
+            }
+            int[] localVertexOrder = topo.getVertexOrderArray();
+            for (int i = 0; i < localVertexOrder.length; i++) {
+                vertexOrder[vertexBase + i] = vertices[localVertexOrder[i]];
+            }
+
+            if (groups[g].source >= 0) {
+                shortest = toGlobal(parts[g].getShortestPaths(), vertices, n, UNREACHABLE);
+                longest = toGlobal(parts[g].getLongestPaths(), vertices, n, NEG_UNREACHABLE);
+            }
+            componentBase += localComponents;
+            vertexBase += vertices.length;
+        }
+
+        SCCResult sccResult = SCCResult.ofMapping(graph, componentOffsets, members, componentId);
+        TopologicalSortResult topoResult = new TopologicalSortResult(componentOrder, vertexOrder, hasCycle);
+        return new AnalysisResult(graph, sccResult, topoResult, shortest, longest,
+                mergePhases(parts, partitionMetrics));
+    }
+
+    // Vertices outside the source's group get the engine's unreachable value
+    private static PathResult toGlobal(PathResult local, int[] vertices, int n, int unreachable) {
+        if (local == null) {
+            return null;
+        }
+        Map<Integer, Integer> distances = new HashMap<>();
+        for (int v = 0; v < n; v++) {
+            distances.put(v, unreachable);
+        }
+        for (Map.Entry<Integer, Integer> entry : local.getDistances().entrySet()) {
+            distances.put(vertices[entry.getKey()], entry.getValue());
+        }
+        Map<Integer, Integer> predecessors = new HashMap<>();
+        for (Map.Entry<Integer, Integer> entry : local.getPredecessors().entrySet()) {
+            predecessors.put(vertices[entry.getKey()], vertices[entry.getValue()]);
+        }
+        List<Integer> criticalPath = new ArrayList<>(local.getCriticalPath().size());
+        for (int v : local.getCriticalPath()) {
+            criticalPath.add(vertices[v]);
+        }
+        return new PathResult(distances, predecessors, criticalPath, local.getCriticalPathLength(),
+                vertices[local.getSource()], local.isShortestPath());
+    }
+
+    // One metrics per phase name after the partitioning pass. Counters are summed over all groups; the groups
+    // ran concurrently, so the elapsed time is the slowest group's and the sum is kept as CPU time.
+    private static List<Metrics> mergePhases(AnalysisResult[] parts, Metrics partitionMetrics) {
+        Map<String, ConcurrentMetrics> phases = new LinkedHashMap<>();
+        for (AnalysisResult part : parts) {
+            for (Metrics phase : part.getPhaseMetrics()) {
+                phases.computeIfAbsent(phase.getAlgorithmName(), name -> new ConcurrentMetrics(name, true))
+                        .accumulate(phase);
+            }
+        }
+        for (ConcurrentMetrics phase : phases.values()) {
+            phase.recordNote("cpuNanos", String.valueOf(phase.getTotalPhaseNanos()));
+            phase.recordNote("groups", String.valueOf(phase.getPhaseCount()));
+        }
+        List<Metrics> merged = new ArrayList<>(List.of(partitionMetrics));
+        merged.addAll(phases.values());
+        return List.copyOf(merged);
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.graph.scc;
+
+import org.example.graph.metrics.Metrics;
+import org.example.graph.metrics.jfr.CondensationPhaseEvent;
+import org.example.graph.models.Edge;
+import org.example.graph.models.Graph;
+import org.example.graph.models.GraphView;
+import org.example.graph.util.AnalysisWorkspace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the condensation DAG of a graph from its SCC mapping: one vertex per component and the first edge of
+ * every pair of distinct components, in original edge order. Called by SCCResult on first use.
+ */
+final class CondensationBuilder {
+
+    private CondensationBuilder() {
+    }
+
+    /**
+     * What the build reads from the original graph, captured when the components are computed. Later
+     * setEdges()/setSource() calls on a mutable graph replace its fields, not these, so the condensation always
+     * pairs the component ids with the edges they were computed from.
+     */
+    static final class Input {
+        final List<Edge> edges;
+        final int source;
+        final String weightModel;
+        final int[] nodeWeights; // null unless node-weighted
+        final String name;
+
+        private Input(List<Edge> edges, int source, String weightModel, int[] nodeWeights, String name) {
+            this.edges = edges;
+            this.source = source;
+            this.weightModel = weightModel;
+            this.nodeWeights = nodeWeights;
+            this.name = name;
+        }
+
+        static Input of(GraphView graph) {
+            return new Input(graph.getEdges(), graph.getSource(), graph.getWeightModel(),
+                    graph.isNodeWeighted() ? graph.getNodeWeights() : null, graph.getName());
+        }
+    }
+
+    /**
+     * Sequential build; scratch arrays come from the workspace
+     */
+    static Graph build(Input original, int numComponents, int[] componentId, AnalysisWorkspace workspace) {
+        CondensationPhaseEvent event = new CondensationPhaseEvent();
+        event.begin();
+        Metrics metrics = startMetrics();
+        if (numComponents == 0) {
+            return empty(original);
+        }
+
+        List<Edge> edges = original.edges;
+        int m = edges.size();
+        metrics.incrementEdgesRelaxed(m);
+        int[] offsets = workspace.ints(AnalysisWorkspace.Slot.OFFSETS, numComponents + 1);
+        int[] grouped = workspace.ints(AnalysisWorkspace.Slot.TARGETS, m);
+        int[] cursor = workspace.ints(AnalysisWorkspace.Slot.CURSOR, numComponents);
+        groupBySourceComponent(edges, numComponents, componentId, offsets, grouped, cursor);
+
+        // Keep the first edge of every component pair: mark[compV] is the last source component that used it
+        int[] mark = workspace.ints(AnalysisWorkspace.Slot.MARKS, numComponents);
+        Arrays.fill(mark, 0, numComponents, -1);
+        boolean[] keep = workspace.booleans(AnalysisWorkspace.Slot.KEEP, m);
+        Arrays.fill(keep, 0, m, false);
+        for (int compU = 0; compU < numComponents; compU++) {
+            for (int j = offsets[compU]; j < offsets[compU + 1]; j++) {
+                int compV = componentId[edges.get(grouped[j]).getV()];
+                // Only add edge if it goes between different components
+                if (compV != compU && mark[compV] != compU) {
+                    mark[compV] = compU;
+                    keep[grouped[j]] = true;
+                }
+            }
+        }
+
+        Graph condensation = emit(original, numComponents, componentId, keep);
+        metrics.incrementVerticesVisited(numComponents);
+        metrics.stopTimer();
+        // The event describes what this phase produced: the condensation, not the graph it was built from
+        event.commitFor(condensation, metrics);
+        return condensation;
+    }
+
+    /**
+     * Parallel build on the common pool: every source component dedupes its own edge group, so threads share
+     * no scratch state. Produces the same graph as the sequential build.
+     */
+    static Graph buildParallel(Input original, int numComponents, int[] componentId) {
+        CondensationPhaseEvent event = new CondensationPhaseEvent();
+        event.begin();
+        Metrics metrics = startMetrics();
+        if (numComponents == 0) {
+            return empty(original);
+        }
+
+        List<Edge> edges = original.edges;
+        int m = edges.size();
+        metrics.incrementEdgesRelaxed(m);
+        int[] offsets = new int[numComponents + 1];
+        int[] grouped = new int[m];
+        groupBySourceComponent(edges, numComponents, componentId, offsets, grouped, new int[numComponents]);
+
+        // Sort each group by (target component, edge index); the first entry of each run is the edge to keep
+        long[] keys = new long[offsets[numComponents]];
+        boolean[] keep = new boolean[m];
+        IntStream.range(0, numComponents).parallel().forEach(compU -> {
+            int from = offsets[compU];
+            int to = offsets[compU + 1];
+            for (int j = from; j < to; j++) {
+                keys[j] = ((long) componentId[edges.get(grouped[j]).getV()] << 32) | grouped[j];
+            }
+            Arrays.sort(keys, from, to);
+            int previous = -1;
+            for (int j = from; j < to; j++) {
+                int compV = (int) (keys[j] >>> 32);
+                if (compV != compU && compV != previous) {
+                    keep[(int) keys[j]] = true;
+                }
+                previous = compV;
+            }
+        });
+
+        Graph condensation = emit(original, numComponents, componentId, keep);
+        metrics.incrementVerticesVisited(numComponents);
+        metrics.stopTimer();
+        // The event describes what this phase produced: the condensation, not the graph it was built from
+        event.commitFor(condensation, metrics);
+        return condensation;
+    }
+
+    private static Metrics startMetrics() {
+        Metrics metrics = Metrics.create("CondensationBuilder");
+        metrics.reset();
+        metrics.startTimer();
+        return metrics;
+    }
+
+    // Groups edge indices by source component, keeping edge order within each group
+    private static void groupBySourceComponent(List<Edge> edges, int numComponents, int[] componentId,
+                                               int[] offsets, int[] grouped, int[] cursor) {
+        int m = edges.size();
+        Arrays.fill(offsets, 0, numComponents + 1, 0);
+        for (int i = 0; i < m; i++) {
+            Edge edge = edges.get(i);
+            if (edge.getU() < componentId.length && edge.getV() < componentId.length) {
+                offsets[componentId[edge.getU()] + 1]++;
+            }
+        }
+        for (int c = 0; c < numComponents; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        System.arraycopy(offsets, 0, cursor, 0, numComponents);
+        for (int i = 0; i < m; i++) {
+            Edge edge = edges.get(i);
+            if (edge.getU() < componentId.length && edge.getV() < componentId.length) {
+                grouped[cursor[componentId[edge.getU()]]++] = i;
+            }
+        }
+    }
+
+    // Emits kept edges in original edge order and carries the source and summed node weights over
+    private static Graph emit(Input original, int numComponents, int[] componentId, boolean[] keep) {
+        List<Edge> edges = original.edges;
+        List<Edge> condensationEdges = new ArrayList<>();
+        for (int i = 0, m = edges.size(); i < m; i++) {
+            if (keep[i]) {
+                Edge originalEdge = edges.get(i);
+                condensationEdges.add(new Edge(componentId[originalEdge.getU()], componentId[originalEdge.getV()],
+                        originalEdge.getW()));
+            }
+        }
+
+        // Node weights of a component are the summed weights of its vertices (clamped to int)
+        int[] componentWeights = null;
+        if (original.nodeWeights != null) {
+            long[] sums = new long[numComponents];
+            for (int v = 0; v < componentId.length; v++) {
+                sums[componentId[v]] += original.nodeWeights[v];
+            }
+            componentWeights = new int[numComponents];
+            for (int c = 0; c < numComponents; c++) {
+                componentWeights[c] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, sums[c]));
+            }
+        }
+
+        int source = original.source;
+        Graph condensation = new Graph(
+                true, // directed
+                numComponents, // number of vertices = number of components
+                condensationEdges,
+                source >= 0 && source < componentId.length ? componentId[source] : -1, // map source to its component
+                original.weightModel,
+                componentWeights
+        );
+        if (original.name != null) {
+            condensation.setName(original.name + "#condensation");
+        }
+        return condensation;
+    }
+
+    private static Graph empty(Input original) {
+        return new Graph(true, 0, new ArrayList<>(), -1, original.weightModel);
+    }
+}
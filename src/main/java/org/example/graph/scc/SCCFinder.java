@@ -1,7 +1,9 @@
 package org.example.graph.scc;
 
 import org.example.graph.metrics.Metrics;
+import org.example.graph.metrics.QueryLatencies;
 import org.example.graph.models.Graph;
+import org.example.graph.models.GraphView;
 
 import java.util.List;
 
@@ -9,17 +11,22 @@ import java.util.List;
 public class SCCFinder {
 
     //  Finds SCCs using Tarjan's algorithm
-    public static SCCResult findStronglyConnectedComponents(Graph graph) {
+    public static SCCResult findStronglyConnectedComponents(GraphView graph) {
+        long start = System.nanoTime();
         TarjanSCC tarjan = new TarjanSCC();
-        return tarjan.findSCCs(graph);
+        SCCResult result = tarjan.findSCCs(graph);
+        QueryLatencies.SCC.recordSince(start);
+        return result;
     }
 
     /**
      * Finds SCCs and returns both result and metrics
      */
-    public static SCCResultWithMetrics findStronglyConnectedComponentsWithMetrics(Graph graph) {
+    public static SCCResultWithMetrics findStronglyConnectedComponentsWithMetrics(GraphView graph) {
+        long start = System.nanoTime();
         TarjanSCC tarjan = new TarjanSCC();
         SCCResult result = tarjan.findSCCs(graph);
+        QueryLatencies.SCC.recordSince(start);
         return new SCCResultWithMetrics(result, tarjan.getMetrics());
     }
 
@@ -1,28 +1,181 @@
 package org.example.graph.scc;
 
+import org.example.graph.metrics.MemoryAccounting;
 import org.example.graph.models.Graph;
+import org.example.graph.models.GraphView;
+import org.example.graph.util.AnalysisWorkspace;
+import org.example.graph.util.IntArrayView;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.function.Supplier;
 
 
+/**
+ * Components are stored flat: the members of component c are members[componentOffsets[c] .. componentOffsets[c + 1]).
+ * getComponents() is a read-only view over these arrays, built on first use without copying.
+ * Results from TarjanSCC build the condensation graph only when it is first requested, so callers that need
+ * just the component ids or count never pay for it.
+ */
 public class SCCResult {
-    private List<List<Integer>> components;
-    private Graph condensationGraph;
+    private final int[] componentOffsets;
+    private final int[] members;
+    private volatile Graph condensationGraph;
+    private CondensationBuilder.Input condensationInput; // kept until the condensation is built, null afterwards
     private int[] componentId; // componentId[i] = id of SCC containing vertex i
+    private Graph reducedCondensationGraph; // transitive reduction, built on first use
+    private volatile List<List<Integer>> componentsView;
 
-    public SCCResult(List<List<Integer>> components, Graph condensationGraph, int[] componentId) {
-        this.components = components;
+    public SCCResult(int[] componentOffsets, int[] members, Graph condensationGraph, int[] componentId) {
+        this.componentOffsets = componentOffsets;
+        this.members = members;
         this.condensationGraph = condensationGraph;
         this.componentId = componentId;
     }
 
+    /**
+     * Result whose condensation graph is built from the original graph on first use
+     */
+    static SCCResult withLazyCondensation(int[] componentOffsets, int[] members, int[] componentId,
+                                          GraphView originalGraph) {
+        SCCResult result = new SCCResult(componentOffsets, members, null, componentId);
+        result.condensationInput = CondensationBuilder.Input.of(originalGraph);
+        return result;
+    }
+
+    /**
+     * SCCs of a graph known to be acyclic: every vertex is its own component, numbered by its position in the
+     * given topological order, so component order 0, 1, 2, ... is topological too. No DFS is run and the
+     * condensation is built on first use.
+     */
+    public static SCCResult ofAcyclic(GraphView dag, int[] topologicalOrder) {
+        int n = topologicalOrder.length;
+        int[] offsets = new int[n + 1];
+        int[] componentId = new int[n];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = i + 1;
+            componentId[topologicalOrder[i]] = i;
+        }
+        return withLazyCondensation(offsets, topologicalOrder, componentId, dag);
+    }
+
+    /**
+     * SCCs computed elsewhere in the compact form, e.g. merged from independent parts of the graph;
+     * the condensation is built from the original graph on first use
+     */
+    public static SCCResult ofMapping(GraphView originalGraph, int[] componentOffsets, int[] members,
+                                      int[] componentId) {
+        return withLazyCondensation(componentOffsets, members, componentId, originalGraph);
+    }
+
+    /**
+     * Flattens component lists into the compact form
+     */
+    public SCCResult(List<List<Integer>> components, Graph condensationGraph, int[] componentId) {
+        this(offsetsOf(components), membersOf(components), condensationGraph, componentId);
+    }
+
     // Getters
     public List<List<Integer>> getComponents() {
-        return components;
+        List<List<Integer>> view = componentsView;
+        if (view == null) {
+            view = new AbstractList<>() {
+                @Override
+                public List<Integer> get(int component) {
+                    return getComponent(component);
+                }
+
+                @Override
+                public int size() {
+                    return getComponentCount();
+                }
+            };
+            componentsView = view;
+        }
+        return view;
+    }
+
+    /**
+     * Read-only view of the members of one component
+     */
+    public List<Integer> getComponent(int component) {
+        return new IntArrayView(members, componentOffsets[component], componentOffsets[component + 1]);
+    }
+
+    public int getComponentCount() {
+        return componentOffsets.length - 1;
+    }
+
+    public int getComponentSize(int component) {
+        return componentOffsets[component + 1] - componentOffsets[component];
+    }
+
+    // Shared arrays for tight loops; callers must not modify them
+    public int[] getComponentOffsets() {
+        return componentOffsets;
     }
 
+    public int[] getMembers() {
+        return members;
+    }
+
+    /**
+     * Gets the condensation DAG, building it sequentially on first call. Whether a build is worth forking is
+     * the planner's decision: pipelines that follow an AnalysisPlan call getCondensationGraphParallel() first.
+     */
     public Graph getCondensationGraph() {
-        return condensationGraph;
+        return buildOnce(() -> CondensationBuilder.build(condensationInput, getComponentCount(), componentId,
+                new AnalysisWorkspace()));
+    }
+
+    /**
+     * Gets the condensation DAG, building it sequentially with the caller's scratch buffers on first call.
+     * The workspace must not be used by another thread meanwhile.
+     */
+    public Graph getCondensationGraph(AnalysisWorkspace workspace) {
+        return buildOnce(() -> CondensationBuilder.build(condensationInput, getComponentCount(), componentId,
+                workspace));
+    }
+
+    /**
+     * Gets the condensation DAG, building it on the common ForkJoin pool on first call
+     */
+    public Graph getCondensationGraphParallel() {
+        return buildOnce(() -> CondensationBuilder.buildParallel(condensationInput, getComponentCount(),
+                componentId));
+    }
+
+    // Double-checked build shared by the getters; the build runs under the lock with the input still set
+    private Graph buildOnce(Supplier<Graph> build) {
+        Graph condensation = condensationGraph;
+        if (condensation == null) {
+            synchronized (this) {
+                if (condensationGraph == null && condensationInput != null) {
+                    condensationGraph = build.get();
+                    condensationInput = null; // no longer needed once the condensation exists
+                }
+                condensation = condensationGraph;
+            }
+        }
+        return condensation;
+    }
+
+    /**
+     * Whether the condensation graph has been built (or was supplied at construction)
+     */
+    public boolean isCondensationBuilt() {
+        return condensationGraph != null;
+    }
+
+    /**
+     * Gets the transitive reduction of the condensation graph: same reachability, fewest edges.
+     * Computed once on first call.
+     */
+    public Graph getReducedCondensationGraph() {
+        if (reducedCondensationGraph == null) {
+            reducedCondensationGraph = new TransitiveReduction().reduce(getCondensationGraph());
+        }
+        return reducedCondensationGraph;
     }
 
     public int[] getComponentId() {
@@ -39,22 +192,58 @@ public class SCCResult {
 
     // Gets the size of each component
     public List<Integer> getComponentSizes() {
-        List<Integer> sizes = new ArrayList<>();
-        for (List<Integer> component : components) {
-            sizes.add(component.size());
+        List<Integer> sizes = new ArrayList<>(getComponentCount());
+        for (int c = 0; c < getComponentCount(); c++) {
+            sizes.add(getComponentSize(c));
         }
         return sizes;
     }
 
+    /**
+     * Estimates the bytes retained by the component arrays, the id mapping and the condensation graph if built
+     */
+    public long estimateRetainedBytes() {
+        long bytes = MemoryAccounting.intArray(componentOffsets.length) + MemoryAccounting.intArray(members.length)
+                + MemoryAccounting.intArray(componentId.length);
+        Graph condensationGraph = this.condensationGraph;
+        if (condensationGraph != null) {
+            bytes += condensationGraph.estimateRetainedBytes();
+        }
+        return bytes;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("SCC Result:\n");
-        sb.append("Number of components: ").append(components.size()).append("\n");
-        for (int i = 0; i < components.size(); i++) {
-            sb.append("Component ").append(i).append(": ").append(components.get(i))
-                    .append(" (size: ").append(components.get(i).size()).append(")\n");
+        sb.append("Number of components: ").append(getComponentCount()).append("\n");
+        for (int i = 0; i < getComponentCount(); i++) {
+            sb.append("Component ").append(i).append(": ").append(getComponent(i))
+                    .append(" (size: ").append(getComponentSize(i)).append(")\n");
         }
         return sb.toString();
     }
+
+    private static int[] offsetsOf(List<List<Integer>> components) {
+        int[] offsets = new int[components.size() + 1];
+        for (int c = 0; c < components.size(); c++) {
+            offsets[c + 1] = offsets[c] + components.get(c).size();
+        }
+        return offsets;
+    }
+
+    private static int[] membersOf(List<List<Integer>> components) {
+        int size = 0;
+        for (List<Integer> component : components) {
+            size += component.size();
+        }
+        int[] members = new int[size];
+        int i = 0;
+        for (List<Integer> component : components) {
+            for (int vertex : component) {
+                members[i++] = vertex;
+            }
+        }
+        return members;
+    }
 }
@@ -1,8 +1,12 @@
 package org.example.graph.scc;
 
-import org.example.graph.models.Graph;
+import org.example.graph.models.GraphView;
 import org.example.graph.models.Edge;
 import org.example.graph.metrics.Metrics;
+import org.example.graph.metrics.jfr.SCCPhaseEvent;
+import org.example.graph.trace.AlgorithmListener;
+import org.example.graph.util.AnalysisWorkspace;
+import org.example.graph.util.IntArrayView;
 
 import java.util.*;
 
@@ -11,33 +15,64 @@ public class TarjanSCC {
     private int[] indices;
     private int[] lowlinks;
     private boolean[] onStack;
-    private Stack<Integer> stack;
-    private List<List<Integer>> components;
-    private Graph graph;
-    private Metrics metrics;
+    private int[] stack;
+    private int stackSize;
+    // Components are written flat as they are emitted; see SCCResult
+    private int[] componentOffsets;
+    private int[] members;
+    private int[] componentId;
+    private int componentCount;
+    private GraphView graph;
+    private final Metrics metrics;
+    private final AlgorithmListener listener;
+    private final AnalysisWorkspace workspace;
 
     public TarjanSCC() {
-        this.metrics = new Metrics("TarjanSCC");
+        this(Metrics.create("TarjanSCC"));
+    }
+
+    public TarjanSCC(Metrics metrics) {
+        this(metrics, AlgorithmListener.NONE);
+    }
+
+    public TarjanSCC(Metrics metrics, AlgorithmListener listener) {
+        this(metrics, listener, new AnalysisWorkspace());
+    }
+
+    /**
+     * Uses the workspace for the per-vertex DFS state, so repeated runs only allocate their results
+     */
+    public TarjanSCC(Metrics metrics, AlgorithmListener listener, AnalysisWorkspace workspace) {
+        this.metrics = metrics;
+        this.listener = listener;
+        this.workspace = workspace;
     }
 
     //Finds all strongly connected components in the graph
 
-    public SCCResult findSCCs(Graph graph) {
-        metrics.startTimer();
+    public SCCResult findSCCs(GraphView graph) {
         metrics.reset();
+        metrics.startTimer();
+        SCCPhaseEvent sccEvent = new SCCPhaseEvent();
+        sccEvent.begin();
 
         this.graph = graph;
         int n = graph.getN();
 
-        // Initialize arrays
-        indices = new int[n];
-        lowlinks = new int[n];
-        onStack = new boolean[n];
-        stack = new Stack<>();
-        components = new ArrayList<>();
+        // Initialize scratch arrays from the workspace
+        indices = workspace.ints(AnalysisWorkspace.Slot.INDICES, n);
+        lowlinks = workspace.ints(AnalysisWorkspace.Slot.LOWLINKS, n);
+        onStack = workspace.booleans(AnalysisWorkspace.Slot.ON_STACK, n);
+        stack = workspace.ints(AnalysisWorkspace.Slot.STACK, n);
+        stackSize = 0;
+        componentOffsets = new int[n + 1];
+        members = new int[n];
+        componentId = new int[n];
+        componentCount = 0;
 
         // Initialize arrays with -1 (unvisited)
-        Arrays.fill(indices, -1);
+        Arrays.fill(indices, 0, n, -1);
+        Arrays.fill(onStack, 0, n, false);
 
         index = 0;
 
@@ -48,25 +83,29 @@ public class TarjanSCC {
             }
         }
 
-        // Build component ID mapping
-        int[] componentId = buildComponentIdMapping(components, n);
-
-        // Build condensation graph
-        Graph condensationGraph = buildCondensationGraph(graph, components, componentId);
+        int[] offsets = Arrays.copyOf(componentOffsets, componentCount + 1);
+        sccEvent.commitFor(graph, metrics);
 
+        // The condensation graph is built by the result on first use
+        SCCResult result = SCCResult.withLazyCondensation(offsets, members, componentId, graph);
+        componentOffsets = null;
+        members = null;
+        componentId = null;
+        metrics.recordRetainedBytes(result.estimateRetainedBytes());
         metrics.stopTimer();
-        return new SCCResult(components, condensationGraph, componentId);
+        return result;
     }
 
     // DFS method for Tarjan's algorithm
     private void strongConnect(int vertex) {
         metrics.incrementVerticesVisited();
         metrics.incrementStackOperations(); // for push
+        listener.vertexDiscovered(vertex);
 
         indices[vertex] = index;
         lowlinks[vertex] = index;
         index++;
-        stack.push(vertex);
+        stack[stackSize++] = vertex;
         onStack[vertex] = true;
 
         // Consider all outgoing edges
@@ -85,79 +124,22 @@ public class TarjanSCC {
 
         // If vertex is root node, pop stack and form SCC
         if (lowlinks[vertex] == indices[vertex]) {
-            List<Integer> component = new ArrayList<>();
+            int start = componentOffsets[componentCount];
+            int end = start;
             int poppedVertex;
 
             do {
-                poppedVertex = stack.pop();
+                poppedVertex = stack[--stackSize];
                 onStack[poppedVertex] = false;
-                component.add(poppedVertex);
+                members[end++] = poppedVertex;
+                componentId[poppedVertex] = componentCount;
             } while (poppedVertex != vertex);
 
-            components.add(component);
-        }
-    }
-
-    //  Builds a mapping from vertex to its component ID
-    private int[] buildComponentIdMapping(List<List<Integer>> components, int n) {
-        int[] componentId = new int[n];
-        Arrays.fill(componentId, -1);
-
-        for (int compId = 0; compId < components.size(); compId++) {
-            for (int vertex : components.get(compId)) {
-                componentId[vertex] = compId;
+            if (listener != AlgorithmListener.NONE) {
+                listener.componentEmitted(componentCount, new IntArrayView(members, start, end));
             }
+            componentOffsets[++componentCount] = end;
         }
-
-        return componentId;
-    }
-
-    // Builds the condensation graph (DAG of components)
-    private Graph buildCondensationGraph(Graph originalGraph, List<List<Integer>> components, int[] componentId) {
-        int numComponents = components.size();
-
-        if (numComponents == 0) {
-            return new Graph(true, 0, new ArrayList<>(), -1, originalGraph.getWeightModel());
-        }
-
-        List<Edge> condensationEdges = new ArrayList<>();
-        Set<String> edgeSet = new HashSet<>(); // To avoid duplicate edges
-
-        // For each original edge, add edge between components if they are different
-        for (Edge originalEdge : originalGraph.getEdges()) {
-            int u = originalEdge.getU();
-            int v = originalEdge.getV();
-
-            if (u >= componentId.length || v >= componentId.length) {
-                continue;
-            }
-
-            int compU = componentId[u];
-            int compV = componentId[v];
-
-            // Only add edge if it goes between different components
-            if (compU != compV) {
-                String edgeKey = compU + "->" + compV;
-                if (!edgeSet.contains(edgeKey)) {
-                    condensationEdges.add(new Edge(compU, compV, originalEdge.getW()));
-                    edgeSet.add(edgeKey);
-                }
-            }
-        }
-
-        int sourceComponent = -1;
-        if (originalGraph.getSource() < componentId.length) {
-            sourceComponent = componentId[originalGraph.getSource()];
-        }
-
-        // Create new graph for condensation
-        return new Graph(
-                true, // directed
-                numComponents, // number of vertices = number of components
-                condensationEdges,
-                componentId[originalGraph.getSource()], // map source to its component
-                originalGraph.getWeightModel()
-        );
     }
 
     public Metrics getMetrics() {
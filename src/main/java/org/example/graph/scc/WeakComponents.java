@@ -0,0 +1,144 @@
+package org.example.graph.scc;
+
+import org.example.graph.models.Edge;
+import org.example.graph.models.GraphView;
+import org.example.graph.util.IntArrayView;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Weakly connected components ("islands") of a graph, ignoring edge direction.
+ * One union-find pass over the edge list with path halving and union by size on plain int arrays; no adjacency
+ * is needed. Islands are numbered by their smallest vertex and list their vertices in ascending order.
+ * No edge joins two islands, so every analysis can run on each island separately.
+ */
+public final class WeakComponents {
+    private final int[] componentId;
+    private final int[] offsets;
+    private final int[] members;
+    private final int[] edgeCounts;
+
+    private WeakComponents(int[] componentId, int[] offsets, int[] members, int[] edgeCounts) {
+        this.componentId = componentId;
+        this.offsets = offsets;
+        this.members = members;
+        this.edgeCounts = edgeCounts;
+    }
+
+    /**
+     * Edges with an endpoint outside [0, n) are ignored, as the adjacency list does
+     */
+    public static WeakComponents of(GraphView graph) {
+        int n = Math.max(0, graph.getN());
+        List<Edge> edges = graph.getEdges();
+        int[] parent = new int[n];
+        int[] size = new int[n];
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+            size[v] = 1;
+        }
+        for (int i = 0, m = edges.size(); i < m; i++) {
+            Edge edge = edges.get(i);
+            int u = edge.getU();
+            int v = edge.getV();
+            if (u < 0 || u >= n || v < 0 || v >= n) {
+                continue;
+            }
+            int rootU = find(parent, u);
+            int rootV = find(parent, v);
+            if (rootU != rootV) {
+                // Union by size keeps the trees shallow
+                if (size[rootU] < size[rootV]) {
+                    int swap = rootU;
+                    rootU = rootV;
+                    rootV = swap;
+                }
+                parent[rootV] = rootU;
+                size[rootU] += size[rootV];
+            }
+        }
+
+        // Number the roots in order of their smallest vertex; size[] is reused as root -> island id
+        int[] componentId = new int[n];
+        int count = 0;
+        int[] islandOf = size;
+        Arrays.fill(islandOf, -1);
+        for (int v = 0; v < n; v++) {
+            int root = find(parent, v);
+            if (islandOf[root] < 0) {
+                islandOf[root] = count++;
+            }
+            componentId[v] = islandOf[root];
+        }
+
+        // Group vertices by island, ascending within each group
+        int[] offsets = new int[count + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[componentId[v] + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(offsets, count);
+        for (int v = 0; v < n; v++) {
+            members[cursor[componentId[v]]++] = v;
+        }
+
+        int[] edgeCounts = new int[count];
+        for (int i = 0, m = edges.size(); i < m; i++) {
+            Edge edge = edges.get(i);
+            int u = edge.getU();
+            int v = edge.getV();
+            if (u >= 0 && u < n && v >= 0 && v < n) {
+                edgeCounts[componentId[u]]++;
+            }
+        }
+        return new WeakComponents(componentId, offsets, members, edgeCounts);
+    }
+
+    // Path halving: every visited vertex is pointed at its grandparent
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    public int getCount() {
+        return offsets.length - 1;
+    }
+
+    public int getComponentOf(int vertex) {
+        return componentId[vertex];
+    }
+
+    public int[] getComponentId() {
+        return componentId;
+    }
+
+    public int getSize(int island) {
+        return offsets[island + 1] - offsets[island];
+    }
+
+    public int getEdgeCount(int island) {
+        return edgeCounts[island];
+    }
+
+    /**
+     * Vertices of an island in ascending order
+     */
+    public List<Integer> getMembers(int island) {
+        return new IntArrayView(members, offsets[island], offsets[island + 1]);
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getMembers() {
+        return members;
+    }
+}
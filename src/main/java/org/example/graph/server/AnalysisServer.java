@@ -0,0 +1,399 @@
+package org.example.graph.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.graph.dagsp.PathFinder;
+import org.example.graph.dagsp.PathResult;
+import org.example.graph.metrics.PrometheusExporter;
+import org.example.graph.models.Graph;
+import org.example.graph.util.DeepStackThreads;
+import org.example.graph.util.GraphLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long-running HTTP front end: graphs are loaded once into {@link GraphSnapshot}s and queried concurrently.
+ * Requests run on virtual threads; analyses run on a small pool of deep-stack compute threads, since Tarjan
+ * recursion would overflow a virtual thread's stack on deep graphs. Snapshots are swapped in a ConcurrentHashMap, so a load or replace
+ * builds the new snapshot off to the side and readers keep answering from the old one until it is published.
+ * The server has no authentication: it binds to loopback unless given another address, and only reads
+ * server-side files from the data directory it was started with. With a data directory every load also keeps
+ * a {@link MappedSnapshot} there as {@code <id>.snapshot}, reusing the file when it was written from the same
+ * graph, and reachability queries are answered from it.
+ *
+ * Endpoints:
+ *   GET    /graphs                                        ids and sizes of loaded graphs
+ *   PUT    /graphs/{id}                                   load or replace from a graph JSON body
+ *   PUT    /graphs/{id}?file=path                         load or replace from a file in the data directory
+ *   DELETE /graphs/{id}                                   unload
+ *   GET    /graphs/{id}/scc[?vertex=v]                    components, or the component of v
+ *   GET    /graphs/{id}/paths?source=s[&mode=longest][&target=t]
+ *   GET    /graphs/{id}/reachable?from=u&to=v
+ *   GET    /metrics                                       Prometheus text format
+ */
+public class AnalysisServer implements AutoCloseable {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ConcurrentHashMap<String, GraphSnapshot> graphs = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ExecutorService computePool = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), DeepStackThreads.factory("server-compute"));
+    private final ConcurrentHashMap<String, MappedSnapshot> mappedSnapshots = new ConcurrentHashMap<>();
+    private final Path dataDirectory; // null when ?file= and mapped snapshots are disabled
+
+    private AnalysisServer(HttpServer server, ExecutorService executor, Path dataDirectory) {
+        this.server = server;
+        this.executor = executor;
+        this.dataDirectory = dataDirectory;
+    }
+
+    /**
+     * Starts a server on the given loopback port (0 = any free port) with server-side file loading disabled
+     */
+    public static AnalysisServer start(int port) throws IOException {
+        return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), null);
+    }
+
+    /**
+     * @param dataDirectory the only directory ?file= may read from and where snapshots are kept, must exist;
+     *                      null disables both
+     */
+    public static AnalysisServer start(InetSocketAddress address, Path dataDirectory) throws IOException {
+        Path root = dataDirectory == null ? null : dataDirectory.toRealPath();
+        HttpServer httpServer = HttpServer.create(address, 0);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpServer.setExecutor(executor);
+        AnalysisServer analysisServer = new AnalysisServer(httpServer, executor, root);
+        httpServer.createContext("/graphs", analysisServer::handleGraphs);
+        httpServer.createContext("/metrics", analysisServer::handleMetrics);
+        httpServer.start();
+        return analysisServer;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Analyzes the graph and publishes it under the id, replacing any previous snapshot
+     */
+    public GraphSnapshot load(String id, Graph graph) {
+        if (graph.getName() == null) {
+            graph.setName(id);
+        }
+        GraphSnapshot snapshot;
+        try {
+            snapshot = computePool.submit(() -> GraphSnapshot.of(id, graph)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while analyzing " + id, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+        MappedSnapshot mapped = dataDirectory == null ? null : mapSnapshot(id, snapshot);
+        graphs.put(id, snapshot);
+        if (mapped != null) {
+            mappedSnapshots.put(id, mapped);
+        } else {
+            mappedSnapshots.remove(id);
+        }
+        return snapshot;
+    }
+
+    public GraphSnapshot getSnapshot(String id) {
+        return graphs.get(id);
+    }
+
+    /**
+     * The mapped snapshot kept for the id in the data directory, or null
+     */
+    public MappedSnapshot getMappedSnapshot(String id) {
+        return mappedSnapshots.get(id);
+    }
+
+    // Reuses <id>.snapshot when it was written from the same graph and rewrites it otherwise; a file that cannot
+    // be written only means reachability is answered from the in-memory snapshot
+    private MappedSnapshot mapSnapshot(String id, GraphSnapshot snapshot) {
+        Path file = dataDirectory.resolve(id + ".snapshot").normalize();
+        if (!dataDirectory.equals(file.getParent())) {
+            return null;
+        }
+        String fingerprint = snapshot.getGraph().getFingerprint();
+        if (Files.exists(file)) {
+            try {
+                MappedSnapshot existing = MappedSnapshot.open(file);
+                if (existing.getFingerprint().equals(fingerprint)) {
+                    return existing;
+                }
+            } catch (IOException e) {
+                // Corrupt or from an older format: rewritten below
+            }
+        }
+        int source = snapshot.getGraph().getSource();
+        int[] sources = source >= 0 && source < snapshot.getGraph().getN() ? new int[]{source} : new int[0];
+        try {
+            MappedSnapshot.write(file, snapshot, sources);
+            return MappedSnapshot.open(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        computePool.shutdownNow();
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = PrometheusExporter.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", PrometheusExporter.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private void handleGraphs(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] segments = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/+");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+            Object response;
+            try {
+                response = route(method, segments, query, exchange);
+            } catch (NoSuchElementException e) {
+                send(exchange, 404, Map.of("error", e.getMessage()));
+                return;
+            } catch (IllegalArgumentException | IOException e) {
+                send(exchange, 400, Map.of("error", String.valueOf(e.getMessage())));
+                return;
+            } catch (Throwable e) {
+                // Anything else (e.g. StackOverflowError) still gets a response instead of a dropped connection
+                send(exchange, 500, Map.of("error", String.valueOf(e)));
+                return;
+            }
+            if (response == null) {
+                send(exchange, 405, Map.of("error", "Method not allowed: " + method));
+            } else {
+                send(exchange, 200, response);
+            }
+        }
+    }
+
+    // Returns null when the method does not apply to the path
+    private Object route(String method, String[] segments, Map<String, String> query, HttpExchange exchange)
+            throws IOException {
+        if (segments.length == 1) {
+            return "GET".equals(method) ? listGraphs() : null;
+        }
+        String id = segments[1];
+        if (segments.length == 2) {
+            switch (method) {
+                case "PUT":
+                case "POST":
+                    return describe(load(id, readGraph(query, exchange)));
+                case "DELETE":
+                    if (graphs.remove(id) == null) {
+                        throw new NoSuchElementException("Unknown graph: " + id);
+                    }
+                    mappedSnapshots.remove(id);
+                    return Map.of("deleted", id);
+                case "GET":
+                    return describe(snapshot(id));
+                default:
+                    return null;
+            }
+        }
+        if (!"GET".equals(method) || segments.length != 3) {
+            return null;
+        }
+        GraphSnapshot snapshot = snapshot(id);
+        switch (segments[2]) {
+            case "scc":
+                return sccQuery(snapshot, query);
+            case "paths":
+                return pathQuery(snapshot, query);
+            case "reachable":
+                int from = intParam(query, "from");
+                int to = intParam(query, "to");
+                return Map.of("from", from, "to", to, "reachable", isReachable(id, snapshot, from, to));
+            default:
+                throw new NoSuchElementException("Unknown query: " + segments[2]);
+        }
+    }
+
+    // From the mapped snapshot while it matches the published graph; a replace may not have swapped it in yet
+    private boolean isReachable(String id, GraphSnapshot snapshot, int from, int to) {
+        MappedSnapshot mapped = mappedSnapshots.get(id);
+        if (mapped != null && mapped.getFingerprint().equals(snapshot.getGraph().getFingerprint())) {
+            return mapped.isReachable(from, to);
+        }
+        return snapshot.isReachable(from, to);
+    }
+
+    private Graph readGraph(Map<String, String> query, HttpExchange exchange) throws IOException {
+        String file = query.get("file");
+        if (file != null) {
+            return GraphLoader.loadFromJson(resolveDataFile(file).toString());
+        }
+        Graph graph;
+        try (InputStream in = exchange.getRequestBody()) {
+            graph = objectMapper.readValue(in, Graph.class);
+        }
+        if (!graph.validate()) {
+            throw new IllegalArgumentException("Invalid graph structure");
+        }
+        return graph;
+    }
+
+    // Relative to the data directory; symlinks are followed before the containment check
+    private Path resolveDataFile(String file) throws IOException {
+        if (dataDirectory == null) {
+            throw new IllegalArgumentException("Loading server-side files is disabled");
+        }
+        Path candidate = dataDirectory.resolve(file).normalize();
+        if (!candidate.startsWith(dataDirectory) || !candidate.toRealPath().startsWith(dataDirectory)) {
+            throw new IllegalArgumentException("File is outside the data directory: " + file);
+        }
+        return candidate;
+    }
+
+    private GraphSnapshot snapshot(String id) {
+        GraphSnapshot snapshot = graphs.get(id);
+        if (snapshot == null) {
+            throw new NoSuchElementException("Unknown graph: " + id);
+        }
+        return snapshot;
+    }
+
+    private List<Map<String, Object>> listGraphs() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (GraphSnapshot snapshot : new TreeMap<>(graphs).values()) {
+            list.add(describe(snapshot));
+        }
+        return list;
+    }
+
+    private static Map<String, Object> describe(GraphSnapshot snapshot) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", snapshot.getId());
+        map.put("vertices", snapshot.getGraph().getN());
+        map.put("edges", snapshot.getGraph().getEdges().size());
+        map.put("sccs", snapshot.getSccResult().getComponents().size());
+        map.put("topologicalOrderValid", snapshot.getTopoResult().isValid());
+        map.put("loadedAtMillis", snapshot.getLoadedAtMillis());
+        return map;
+    }
+
+    private static Map<String, Object> sccQuery(GraphSnapshot snapshot, Map<String, String> query) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (query.containsKey("vertex")) {
+            int vertex = checkVertex(snapshot, intParam(query, "vertex"));
+            map.put("vertex", vertex);
+            map.put("component", snapshot.getSccResult().getComponentId(vertex));
+            map.put("members", snapshot.componentOf(vertex));
+        } else {
+            map.put("count", snapshot.getSccResult().getComponents().size());
+            map.put("components", snapshot.getSccResult().getComponents());
+        }
+        return map;
+    }
+
+    private static Map<String, Object> pathQuery(GraphSnapshot snapshot, Map<String, String> query) {
+        int source = checkVertex(snapshot, intParam(query, "source"));
+        boolean longest = "longest".equals(query.getOrDefault("mode", "shortest"));
+        if (!snapshot.getTopoResult().isValid()) {
+            throw new IllegalArgumentException("Graph has no valid topological order");
+        }
+        PathResult result = longest
+                ? PathFinder.findLongestPaths(snapshot.getGraph(), snapshot.getTopoResult(), source)
+                : PathFinder.findShortestPaths(snapshot.getGraph(), snapshot.getTopoResult(), source);
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("source", source);
+        map.put("mode", longest ? "longest" : "shortest");
+        if (query.containsKey("target")) {
+            int target = checkVertex(snapshot, intParam(query, "target"));
+            Integer distance = result.getDistances().get(target);
+            boolean reachable = distance != null && distance != Integer.MAX_VALUE && distance != Integer.MIN_VALUE;
+            map.put("target", target);
+            map.put("reachable", reachable);
+            map.put("distance", reachable ? distance : null);
+            map.put("path", !reachable ? List.of() : target == source ? List.of(source) : result.reconstructPath(target));
+        } else {
+            List<Integer> distances = new ArrayList<>(snapshot.getGraph().getN());
+            for (int v = 0; v < snapshot.getGraph().getN(); v++) {
+                Integer d = result.getDistances().get(v);
+                distances.add(d == null || d == Integer.MAX_VALUE || d == Integer.MIN_VALUE ? null : d);
+            }
+            map.put("distances", distances);
+            map.put("criticalPath", result.getCriticalPath());
+            map.put("criticalPathLength", result.getCriticalPathLength());
+        }
+        return map;
+    }
+
+    private static int checkVertex(GraphSnapshot snapshot, int vertex) {
+        if (vertex < 0 || vertex >= snapshot.getGraph().getN()) {
+            throw new IllegalArgumentException("Vertex out of range: " + vertex);
+        }
+        return vertex;
+    }
+
+    private static int intParam(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " is not an integer: " + value);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
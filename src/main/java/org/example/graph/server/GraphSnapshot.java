@@ -0,0 +1,104 @@
+package org.example.graph.server;
+
+import org.example.graph.models.Edge;
+import org.example.graph.models.Graph;
+import org.example.graph.models.GraphView;
+import org.example.graph.models.ImmutableGraph;
+import org.example.graph.scc.SCCResult;
+import org.example.graph.scc.TarjanSCC;
+import org.example.graph.topo.KahnTopologicalSort;
+import org.example.graph.topo.TopologicalSortResult;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * A loaded graph, frozen as an {@link ImmutableGraph}, with its SCCs and topological order computed once.
+ * The condensation's lazy index is forced before the snapshot is constructed and nothing mutates the results
+ * afterwards, so once published (final fields) a snapshot is read concurrently without locks.
+ */
+public final class GraphSnapshot {
+    private final String id;
+    private final ImmutableGraph graph;
+    private final SCCResult sccResult;
+    private final TopologicalSortResult topoResult;
+    private final long loadedAtMillis;
+
+    private GraphSnapshot(String id, ImmutableGraph graph, SCCResult sccResult, TopologicalSortResult topoResult) {
+        this.id = id;
+        this.graph = graph;
+        this.sccResult = sccResult;
+        this.topoResult = topoResult;
+        this.loadedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Freezes a copy of the graph and analyzes it; later changes to the given graph do not affect the snapshot
+     */
+    public static GraphSnapshot of(String id, GraphView source) {
+        ImmutableGraph graph = ImmutableGraph.copyOf(source);
+        SCCResult sccResult = new TarjanSCC().findSCCs(graph);
+        TopologicalSortResult topoResult = new KahnTopologicalSort().sortFromSCC(graph, sccResult);
+        sccResult.getCondensationGraph().buildAdjacencyList();
+        return new GraphSnapshot(id, graph, sccResult, topoResult);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ImmutableGraph getGraph() {
+        return graph;
+    }
+
+    public SCCResult getSccResult() {
+        return sccResult;
+    }
+
+    public TopologicalSortResult getTopoResult() {
+        return topoResult;
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    /**
+     * Whether target is reachable from source, by BFS over the condensation DAG
+     */
+    public boolean isReachable(int source, int target) {
+        int n = graph.getN();
+        if (source < 0 || source >= n || target < 0 || target >= n) {
+            throw new IllegalArgumentException("Vertex out of range [0, " + n + "): " + source + ", " + target);
+        }
+        int from = sccResult.getComponentId(source);
+        int to = sccResult.getComponentId(target);
+        if (from == to) {
+            return true;
+        }
+
+        Graph condensation = sccResult.getCondensationGraph();
+        boolean[] seen = new boolean[condensation.getN()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        seen[from] = true;
+        while (!queue.isEmpty()) {
+            int c = queue.poll();
+            for (Edge edge : condensation.getOutgoingEdges(c)) {
+                int next = edge.getV();
+                if (next == to) {
+                    return true;
+                }
+                if (!seen[next]) {
+                    seen[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+        return false;
+    }
+
+    public List<Integer> componentOf(int vertex) {
+        return sccResult.getComponents().get(sccResult.getComponentId(vertex));
+    }
+}
@@ -0,0 +1,326 @@
+package org.example.graph.server;
+
+import org.example.graph.dagsp.DAGShortestLongestPaths64;
+import org.example.graph.dagsp.PathResult64;
+import org.example.graph.models.Edge;
+import org.example.graph.models.Graph;
+import org.example.graph.models.ImmutableGraph;
+import org.example.graph.scc.SCCResult;
+import org.example.graph.topo.TopologicalSortResult;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precomputed analysis of one graph in a single file, reopened by memory mapping.
+ * The file holds the SCC mapping, the condensation DAG as CSR, the topological position of every component
+ * and 64-bit shortest and longest distances from a chosen set of sources. Opening only maps the file and
+ * reads the header; the OS pages sections in on first access, so a restart does no parsing or analysis.
+ * All reads are absolute gets on read-only buffers, so one instance is queried concurrently without locks.
+ */
+public final class MappedSnapshot {
+    private static final int MAGIC = 0x47534E31; // "GSN1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 48;
+
+    public static final long UNREACHABLE = PathResult64.UNREACHABLE;
+    public static final long NEG_UNREACHABLE = PathResult64.NEG_UNREACHABLE;
+
+    // Files are mapped in regions of this size; every value is 4- or 8-byte aligned, so none straddles two
+    private static final int REGION_SHIFT = 30;
+    private static final long REGION_BYTES = 1L << REGION_SHIFT;
+
+    private final String fingerprint;
+    private final int n;
+    private final int componentCount;
+    private final int[] sources; // small, copied out of the header area
+    private final MappedByteBuffer[] regions;
+    // Byte offsets of the sections
+    private final long componentIdAt;
+    private final long offsetsAt;
+    private final long targetsAt;
+    private final long topologicalPositionAt;
+    private final long distancesAt; // per source: n shortest, then n longest
+
+    private MappedSnapshot(MappedByteBuffer[] regions, long size) throws IOException {
+        this.regions = regions;
+        if (size < HEADER_BYTES || getInt(0) != MAGIC || getInt(4) != VERSION) {
+            throw new IOException("Not an analysis snapshot of this version");
+        }
+        this.fingerprint = String.format("%016x%016x", getLong(8), getLong(16));
+        this.n = getInt(24);
+        this.componentCount = getInt(28);
+        int edgeCount = getInt(32);
+        int sourceCount = getInt(36);
+        if (n < 0 || componentCount < 0 || edgeCount < 0 || sourceCount < 0) {
+            throw new IOException("Corrupt snapshot header");
+        }
+
+        this.componentIdAt = HEADER_BYTES;
+        this.offsetsAt = componentIdAt + 4L * n;
+        this.targetsAt = offsetsAt + 4L * (componentCount + 1);
+        this.topologicalPositionAt = targetsAt + 4L * edgeCount;
+        long sourcesAt = topologicalPositionAt + 4L * componentCount;
+        this.distancesAt = align8(sourcesAt + 4L * sourceCount);
+        long expected = distancesAt + 16L * sourceCount * n;
+        if (size < expected) {
+            throw new IOException("Truncated snapshot: " + size + " bytes, header requires " + expected);
+        }
+        this.sources = new int[sourceCount];
+        for (int i = 0; i < sourceCount; i++) {
+            sources[i] = getInt(sourcesAt + 4L * i);
+        }
+    }
+
+    /**
+     * Writes the snapshot's analysis and distances from the given sources (none if the order is not valid)
+     */
+    public static void write(Path file, GraphSnapshot snapshot, int... sources) throws IOException {
+        ImmutableGraph graph = snapshot.getGraph();
+        SCCResult sccResult = snapshot.getSccResult();
+        TopologicalSortResult topoResult = snapshot.getTopoResult();
+        int n = graph.getN();
+        for (int source : sources) {
+            if (source < 0 || source >= n) {
+                throw new IllegalArgumentException("Source out of range [0, " + n + "): " + source);
+            }
+        }
+        if (!topoResult.isValid()) {
+            sources = new int[0];
+        }
+
+        // Condensation as CSR, edges grouped by source component in edge order
+        Graph condensation = sccResult.getCondensationGraph();
+        int componentCount = condensation.getN();
+        List<Edge> edges = condensation.getEdges();
+        int[] offsets = new int[componentCount + 1];
+        for (Edge edge : edges) {
+            offsets[edge.getU() + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] targets = new int[edges.size()];
+        int[] cursor = Arrays.copyOf(offsets, componentCount);
+        for (Edge edge : edges) {
+            targets[cursor[edge.getU()]++] = edge.getV();
+        }
+
+        int[] topologicalPosition = new int[componentCount];
+        Arrays.fill(topologicalPosition, -1);
+        int[] componentOrder = topoResult.getComponentOrderArray();
+        for (int i = 0; i < componentOrder.length; i++) {
+            topologicalPosition[componentOrder[i]] = i;
+        }
+
+        String fingerprint = graph.getFingerprint();
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(Long.parseUnsignedLong(fingerprint.substring(0, 16), 16));
+                out.writeLong(Long.parseUnsignedLong(fingerprint.substring(16), 16));
+                out.writeInt(n);
+                out.writeInt(componentCount);
+                out.writeInt(targets.length);
+                out.writeInt(sources.length);
+                out.write(new byte[HEADER_BYTES - 40]);
+
+                writeInts(out, sccResult.getComponentId());
+                writeInts(out, offsets);
+                writeInts(out, targets);
+                writeInts(out, topologicalPosition);
+                writeInts(out, sources);
+                long written = HEADER_BYTES + 4L * (n + 2L * componentCount + 1 + targets.length + sources.length);
+                out.write(new byte[(int) (align8(written) - written)]);
+
+                DAGShortestLongestPaths64 paths = new DAGShortestLongestPaths64();
+                for (int source : sources) {
+                    writeLongs(out, paths.shortestPathsFromSource(graph, topoResult, source).getDistances());
+                    writeLongs(out, paths.longestPathsFromSource(graph, topoResult, source).getDistances());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps the file read-only, in 1 GiB regions so files beyond 2 GiB work; the mapping stays valid after the
+     * channel is closed. A file shorter than its header promises is rejected.
+     */
+    public static MappedSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer[] regions = new MappedByteBuffer[(int) ((size + REGION_BYTES - 1) >>> REGION_SHIFT)];
+            for (int r = 0; r < regions.length; r++) {
+                long from = (long) r << REGION_SHIFT;
+                regions[r] = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(REGION_BYTES, size - from));
+            }
+            return new MappedSnapshot(regions, size);
+        }
+    }
+
+    /**
+     * Fingerprint of the graph the snapshot was written from; compare with Graph.getFingerprint() to detect staleness
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getVertexCount() {
+        return n;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public int[] getSources() {
+        return sources.clone();
+    }
+
+    public int componentOf(int vertex) {
+        checkVertex(vertex);
+        return getInt(componentIdAt + 4L * vertex);
+    }
+
+    /**
+     * Successor components of a component in the condensation DAG
+     */
+    public int[] successors(int component) {
+        checkComponent(component);
+        int from = offset(component);
+        int[] result = new int[offset(component + 1) - from];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = target(from + i);
+        }
+        return result;
+    }
+
+    /**
+     * Position of the component in the topological component order
+     */
+    public int topologicalPosition(int component) {
+        checkComponent(component);
+        return position(component);
+    }
+
+    /**
+     * Whether target is reachable from source: DFS over the condensation, skipping components that come
+     * after the target's in topological order since no edge leads back from them
+     */
+    public boolean isReachable(int source, int target) {
+        int from = componentOf(source);
+        int to = componentOf(target);
+        if (from == to) {
+            return true;
+        }
+        int limit = position(to);
+        if (position(from) > limit) {
+            return false;
+        }
+        boolean[] seen = new boolean[componentCount];
+        int[] stack = new int[componentCount];
+        int size = 0;
+        stack[size++] = from;
+        seen[from] = true;
+        while (size > 0) {
+            int c = stack[--size];
+            for (int j = offset(c), end = offset(c + 1); j < end; j++) {
+                int next = target(j);
+                if (next == to) {
+                    return true;
+                }
+                if (!seen[next] && position(next) < limit) {
+                    seen[next] = true;
+                    stack[size++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Shortest distance from a stored source, UNREACHABLE if there is no path
+     */
+    public long shortestDistance(int source, int vertex) {
+        return getLong(distancesAt + 8 * distanceIndex(source, vertex));
+    }
+
+    /**
+     * Longest distance from a stored source, NEG_UNREACHABLE if there is no path
+     */
+    public long longestDistance(int source, int vertex) {
+        return getLong(distancesAt + 8 * (distanceIndex(source, vertex) + n));
+    }
+
+    private long distanceIndex(int source, int vertex) {
+        checkVertex(vertex);
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] == source) {
+                return 2L * i * n + vertex;
+            }
+        }
+        throw new IllegalArgumentException("No distances stored for source " + source);
+    }
+
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= n) {
+            throw new IllegalArgumentException("Vertex out of range [0, " + n + "): " + vertex);
+        }
+    }
+
+    private void checkComponent(int component) {
+        if (component < 0 || component >= componentCount) {
+            throw new IllegalArgumentException("Component out of range [0, " + componentCount + "): " + component);
+        }
+    }
+
+    private int offset(int component) {
+        return getInt(offsetsAt + 4L * component);
+    }
+
+    private int target(int index) {
+        return getInt(targetsAt + 4L * index);
+    }
+
+    private int position(int component) {
+        return getInt(topologicalPositionAt + 4L * component);
+    }
+
+    private int getInt(long at) {
+        return regions[(int) (at >>> REGION_SHIFT)].getInt((int) (at & (REGION_BYTES - 1)));
+    }
+
+    private long getLong(long at) {
+        return regions[(int) (at >>> REGION_SHIFT)].getLong((int) (at & (REGION_BYTES - 1)));
+    }
+
+    private static long align8(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+}
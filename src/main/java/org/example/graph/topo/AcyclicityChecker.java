@@ -0,0 +1,119 @@
+package org.example.graph.topo;
+
+import org.example.graph.metrics.Metrics;
+import org.example.graph.models.Edge;
+import org.example.graph.models.GraphView;
+import org.example.graph.trace.AlgorithmListener;
+import org.example.graph.util.AnalysisWorkspace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks whether a graph is a DAG with an iterative three-color DFS, stopping at the first back edge.
+ * An acyclic graph gets its reverse postorder as topological order, so DAG inputs need no SCC pass at all.
+ */
+public class AcyclicityChecker {
+    private static final int WHITE = 0;
+    private static final int GRAY = 1; // on the DFS path
+    private static final int BLACK = 2;
+
+    private final Metrics metrics;
+    private final AlgorithmListener listener;
+    private final AnalysisWorkspace workspace;
+
+    public AcyclicityChecker() {
+        this(Metrics.create("AcyclicityChecker"));
+    }
+
+    public AcyclicityChecker(Metrics metrics) {
+        this(metrics, AlgorithmListener.NONE);
+    }
+
+    public AcyclicityChecker(Metrics metrics, AlgorithmListener listener) {
+        this(metrics, listener, new AnalysisWorkspace());
+    }
+
+    /**
+     * Uses the workspace for colors, the DFS stack and edge cursors; only the order or the cycle is allocated
+     */
+    public AcyclicityChecker(Metrics metrics, AlgorithmListener listener, AnalysisWorkspace workspace) {
+        this.metrics = metrics;
+        this.listener = listener;
+        this.workspace = workspace;
+    }
+
+    public AcyclicityResult check(GraphView graph) {
+        metrics.reset();
+        metrics.startTimer();
+
+        int n = graph.getN();
+        int[] color = workspace.ints(AnalysisWorkspace.Slot.MARKS, n);
+        int[] stack = workspace.ints(AnalysisWorkspace.Slot.STACK, n);
+        int[] cursor = workspace.ints(AnalysisWorkspace.Slot.CURSOR, n);
+        Arrays.fill(color, 0, n, WHITE);
+        int[] order = new int[n];
+        int next = n; // order is filled from the back with finished vertices
+
+        for (int root = 0; root < n; root++) {
+            if (color[root] != WHITE) {
+                continue;
+            }
+            int size = 0;
+            stack[size++] = discover(root, color, cursor);
+
+            while (size > 0) {
+                int u = stack[size - 1];
+                List<Edge> outgoing = graph.getOutgoingEdges(u);
+                if (cursor[u] < outgoing.size()) {
+                    int v = outgoing.get(cursor[u]++).getV();
+                    if (color[v] == GRAY) {
+                        // Back edge u -> v: the stack from v up to u is the cycle
+                        metrics.stopTimer();
+                        return AcyclicityResult.cyclic(cycleOnStack(stack, size, v));
+                    }
+                    if (color[v] == WHITE) {
+                        stack[size++] = discover(v, color, cursor);
+                    }
+                } else {
+                    color[u] = BLACK;
+                    size--;
+                    order[--next] = u;
+                }
+            }
+        }
+
+        metrics.stopTimer();
+        return AcyclicityResult.acyclic(order);
+    }
+
+    public boolean isAcyclic(GraphView graph) {
+        return check(graph).isAcyclic();
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    private int discover(int vertex, int[] color, int[] cursor) {
+        metrics.incrementVerticesVisited();
+        metrics.incrementStackOperations();
+        listener.vertexDiscovered(vertex);
+        color[vertex] = GRAY;
+        cursor[vertex] = 0;
+        return vertex;
+    }
+
+    private static List<Integer> cycleOnStack(int[] stack, int size, int start) {
+        int from = size - 1;
+        while (stack[from] != start) {
+            from--;
+        }
+        List<Integer> cycle = new ArrayList<>(size - from);
+        for (int i = from; i < size; i++) {
+            cycle.add(stack[i]);
+        }
+        return cycle;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.graph.topo;
+
+import java.util.List;
+
+/**
+ * Outcome of an acyclicity check: a topological order of the vertices when the graph is a DAG,
+ * otherwise one cycle as a witness
+ */
+public class AcyclicityResult {
+    private final int[] topologicalOrder;
+    private final List<Integer> cycle;
+
+    private AcyclicityResult(int[] topologicalOrder, List<Integer> cycle) {
+        this.topologicalOrder = topologicalOrder;
+        this.cycle = cycle;
+    }
+
+    static AcyclicityResult acyclic(int[] topologicalOrder) {
+        return new AcyclicityResult(topologicalOrder, List.of());
+    }
+
+    static AcyclicityResult cyclic(List<Integer> cycle) {
+        return new AcyclicityResult(null, cycle);
+    }
+
+    public boolean isAcyclic() {
+        return topologicalOrder != null;
+    }
+
+    /**
+     * Vertices in topological order, or null if the graph has a cycle; callers must not modify it
+     */
+    public int[] getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    /**
+     * Vertices of one cycle in edge order: cycle.get(i) -> cycle.get(i + 1), and the last back to the first.
+     * Empty for a DAG.
+     */
+    public List<Integer> getCycle() {
+        return cycle;
+    }
+
+    /**
+     * The order as a topological sort result over singleton components, numbered by position:
+     * component i holds getTopologicalOrder()[i], matching SCCResult.ofAcyclic
+     */
+    public TopologicalSortResult toTopologicalSortResult() {
+        if (!isAcyclic()) {
+            throw new IllegalStateException("Graph has a cycle: " + cycle);
+        }
+        int[] componentOrder = new int[topologicalOrder.length];
+        for (int i = 0; i < componentOrder.length; i++) {
+            componentOrder[i] = i;
+        }
+        return new TopologicalSortResult(componentOrder, topologicalOrder, false);
+    }
+
+    @Override
+    public String toString() {
+        return isAcyclic() ? "Acyclic (" + topologicalOrder.length + " vertices)" : "Cycle: " + cycle;
+    }
+}
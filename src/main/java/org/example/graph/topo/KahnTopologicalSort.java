@@ -2,61 +2,99 @@ package org.example.graph.topo;
 
 
 import org.example.graph.metrics.Metrics;
-import org.example.graph.models.Graph;
+import org.example.graph.metrics.jfr.TopologicalSortPhaseEvent;
+import org.example.graph.models.GraphView;
 import org.example.graph.models.Edge;
 import org.example.graph.scc.SCCResult;
+import org.example.graph.trace.AlgorithmListener;
+import org.example.graph.util.AnalysisWorkspace;
 
 
 import java.util.*;
 
 public class KahnTopologicalSort {
-    private Metrics metrics;
+    private final Metrics metrics;
+    private final AlgorithmListener listener;
+    private final AnalysisWorkspace workspace;
 
     public KahnTopologicalSort() {
-        this.metrics = new Metrics("KahnTopologicalSort"); // ИНИЦИАЛИЗИРУЙ ЗДЕСЬ!
+        this(Metrics.create("KahnTopologicalSort"));
+    }
+
+    public KahnTopologicalSort(Metrics metrics) {
+        this(metrics, AlgorithmListener.NONE);
+    }
+
+    public KahnTopologicalSort(Metrics metrics, AlgorithmListener listener) {
+        this(metrics, listener, new AnalysisWorkspace());
+    }
+
+    /**
+     * Uses the workspace for in-degrees, adjacency and the queue, so repeated runs only allocate their results
+     */
+    public KahnTopologicalSort(Metrics metrics, AlgorithmListener listener, AnalysisWorkspace workspace) {
+        this.metrics = metrics;
+        this.listener = listener;
+        this.workspace = workspace;
     }
 
     // Performs topological sort on the condensation graph
-    public TopologicalSortResult sort(Graph condensationGraph, SCCResult sccResult) {
-        metrics.startTimer();
+    public TopologicalSortResult sort(GraphView condensationGraph, SCCResult sccResult) {
         metrics.reset();
+        metrics.startTimer();
+        TopologicalSortPhaseEvent event = new TopologicalSortPhaseEvent();
+        event.begin();
 
         int n = condensationGraph.getN();
 
-        // Calculate in-degrees for each component
-        int[] inDegree = new int[n];
-        List<List<Integer>> adjacencyList = buildComponentAdjacencyList(condensationGraph, n);
-
-        // Initialize in-degrees
+        // Adjacency in CSR form (edge order preserved) and in-degrees for each component
+        int[] inDegree = workspace.ints(AnalysisWorkspace.Slot.IN_DEGREE, n);
+        Arrays.fill(inDegree, 0, n, 0);
+        int[] offsets = workspace.ints(AnalysisWorkspace.Slot.OFFSETS, n + 1);
+        Arrays.fill(offsets, 0, n + 1, 0);
+        List<Edge> edges = condensationGraph.getEdges();
+        for (int i = 0, m = edges.size(); i < m; i++) {
+            Edge edge = edges.get(i);
+            offsets[edge.getU() + 1]++;
+            inDegree[edge.getV()]++;
+        }
         for (int u = 0; u < n; u++) {
-            for (int v : adjacencyList.get(u)) {
-                inDegree[v]++;
-            }
+            offsets[u + 1] += offsets[u];
+        }
+        int[] targets = workspace.ints(AnalysisWorkspace.Slot.TARGETS, offsets[n]);
+        int[] cursor = workspace.ints(AnalysisWorkspace.Slot.CURSOR, n);
+        System.arraycopy(offsets, 0, cursor, 0, n);
+        for (int i = 0, m = edges.size(); i < m; i++) {
+            Edge edge = edges.get(i);
+            targets[cursor[edge.getU()]++] = edge.getV();
         }
 
-        // Queue for nodes with zero in-degree
-        Queue<Integer> queue = new LinkedList<>();
+        // Queue for nodes with zero in-degree; every node is enqueued at most once
+        int[] queue = workspace.ints(AnalysisWorkspace.Slot.QUEUE, n);
+        int head = 0;
+        int tail = 0;
         for (int i = 0; i < n; i++) {
             if (inDegree[i] == 0) {
-                queue.offer(i);
+                queue[tail++] = i;
             }
         }
 
-        List<Integer> componentOrder = new ArrayList<>();
+        int[] componentOrder = new int[n];
         int visitedCount = 0;
 
         // Process nodes
-        while (!queue.isEmpty()) {
+        while (head < tail) {
             metrics.incrementQueueOperations();
-            int u = queue.poll();
-            componentOrder.add(u);
-            visitedCount++;
+            int u = queue[head++];
+            listener.vertexDequeued(u);
+            componentOrder[visitedCount++] = u;
 
             // Decrease in-degree of neighbors
-            for (int v : adjacencyList.get(u)) {
+            for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                int v = targets[j];
                 inDegree[v]--;
                 if (inDegree[v] == 0) {
-                    queue.offer(v);
+                    queue[tail++] = v;
                 }
             }
         }
@@ -64,46 +102,47 @@ public class KahnTopologicalSort {
         // Check for cycles (should not happen in condensation graph, but safety check)
         boolean hasCycle = (visitedCount != n);
 
-        // Build vertex order from component order
-        List<Integer> vertexOrder = buildVertexOrder(componentOrder, sccResult);
-
-        metrics.stopTimer();
-        return new TopologicalSortResult(componentOrder, vertexOrder, hasCycle);
-    }
-
-    // Builds adjacency list for components
-    private List<List<Integer>> buildComponentAdjacencyList(Graph condensationGraph, int n) {
-        List<List<Integer>> adjList = new ArrayList<>();
-        for (int i = 0; i < n; i++) {
-            adjList.add(new ArrayList<>());
+        if (hasCycle) {
+            componentOrder = Arrays.copyOf(componentOrder, visitedCount);
         }
 
-        for (Edge edge : condensationGraph.getEdges()) {
-            adjList.get(edge.getU()).add(edge.getV());
-        }
+        // Build vertex order from component order
+        int[] vertexOrder = buildVertexOrder(componentOrder, sccResult);
 
-        return adjList;
+        TopologicalSortResult result = new TopologicalSortResult(componentOrder, vertexOrder, hasCycle);
+        metrics.recordRetainedBytes(result.estimateRetainedBytes());
+        metrics.stopTimer();
+        event.commitFor(condensationGraph, metrics);
+        return result;
     }
 
     // Builds order of original vertices from component order
-    private List<Integer> buildVertexOrder(List<Integer> componentOrder, SCCResult sccResult) {
-        List<Integer> vertexOrder = new ArrayList<>();
-        List<List<Integer>> components = sccResult.getComponents();
+    private int[] buildVertexOrder(int[] componentOrder, SCCResult sccResult) {
+        int[] offsets = sccResult.getComponentOffsets();
+        int[] members = sccResult.getMembers();
+        int size = 0;
+        for (int compId : componentOrder) {
+            size += offsets[compId + 1] - offsets[compId];
+        }
+        int[] vertexOrder = new int[size];
 
-        // For each component in topological order, add its vertices
+        // For each component in topological order, copy its vertices and sort the copy for consistent
+        // ordering; the SCC result itself is left untouched
+        int end = 0;
         for (int compId : componentOrder) {
-            List<Integer> componentVertices = components.get(compId);
-            // Sort vertices within component for consistent ordering
-            Collections.sort(componentVertices);
-            vertexOrder.addAll(componentVertices);
+            int start = end;
+            int count = offsets[compId + 1] - offsets[compId];
+            System.arraycopy(members, offsets[compId], vertexOrder, start, count);
+            end += count;
+            Arrays.sort(vertexOrder, start, end);
         }
 
         return vertexOrder;
     }
 
     // Alternative method: topological sort using original graph and SCC result
-    public TopologicalSortResult sortFromSCC(Graph originalGraph, SCCResult sccResult) {
-        return sort(sccResult.getCondensationGraph(), sccResult);
+    public TopologicalSortResult sortFromSCC(GraphView originalGraph, SCCResult sccResult) {
+        return sort(sccResult.getCondensationGraph(workspace), sccResult);
     }
 
     public Metrics getMetrics() {
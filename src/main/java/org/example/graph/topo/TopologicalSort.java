@@ -1,7 +1,8 @@
 package org.example.graph.topo;
 
 import org.example.graph.metrics.Metrics;
-import org.example.graph.models.Graph;
+import org.example.graph.metrics.QueryLatencies;
+import org.example.graph.models.GraphView;
 import org.example.graph.models.Edge;
 import org.example.graph.scc.SCCResult;
 
@@ -12,25 +13,50 @@ public class TopologicalSort {
     /**
      * Performs topological sort on condensation graph
      */
-    public static TopologicalSortResult sort(Graph condensationGraph, SCCResult sccResult) {
+    public static TopologicalSortResult sort(GraphView condensationGraph, SCCResult sccResult) {
+        long start = System.nanoTime();
         KahnTopologicalSort kahn = new KahnTopologicalSort();
-        return kahn.sort(condensationGraph, sccResult);
+        TopologicalSortResult result = kahn.sort(condensationGraph, sccResult);
+        QueryLatencies.TOPOLOGICAL_SORT.recordSince(start);
+        return result;
     }
 
     /**
      * Performs topological sort directly from original graph and SCC result
      */
-    public static TopologicalSortResult sortFromOriginal(Graph originalGraph, SCCResult sccResult) {
+    public static TopologicalSortResult sortFromOriginal(GraphView originalGraph, SCCResult sccResult) {
+        long start = System.nanoTime();
         KahnTopologicalSort kahn = new KahnTopologicalSort();
-        return kahn.sortFromSCC(originalGraph, sccResult);
+        TopologicalSortResult result = kahn.sortFromSCC(originalGraph, sccResult);
+        QueryLatencies.TOPOLOGICAL_SORT.recordSince(start);
+        return result;
+    }
+
+    /**
+     * Checks whether the graph is a DAG, stopping at the first back edge
+     */
+    public static boolean isAcyclic(GraphView graph) {
+        return checkAcyclicity(graph).isAcyclic();
+    }
+
+    /**
+     * Checks whether the graph is a DAG; returns a topological order of the vertices, or a cycle as witness
+     */
+    public static AcyclicityResult checkAcyclicity(GraphView graph) {
+        long start = System.nanoTime();
+        AcyclicityResult result = new AcyclicityChecker().check(graph);
+        QueryLatencies.ACYCLICITY.recordSince(start);
+        return result;
     }
 
     /**
      * Performs topological sort with metrics
      */
-    public static TopologicalSortResult sortWithMetrics(Graph condensationGraph, SCCResult sccResult, Metrics metrics) {
+    public static TopologicalSortResult sortWithMetrics(GraphView condensationGraph, SCCResult sccResult, Metrics metrics) {
+        long start = System.nanoTime();
         KahnTopologicalSort kahn = new KahnTopologicalSort();
         TopologicalSortResult result = kahn.sort(condensationGraph, sccResult);
+        QueryLatencies.TOPOLOGICAL_SORT.recordSince(start);
         if (metrics != null) {
             // Можно обновить переданные метрики или использовать возвращаемые
             Metrics kahnMetrics = kahn.getMetrics();
@@ -79,7 +105,7 @@ public class TopologicalSort {
      * Validates if the topological order respects all dependencies BETWEEN COMPONENTS
      * Note: We only validate edges between different SCCs, not within the same SCC
      */
-    public static boolean validateTopologicalOrder(Graph originalGraph, List<Integer> vertexOrder, SCCResult sccResult) {
+    public static boolean validateTopologicalOrder(GraphView originalGraph, List<Integer> vertexOrder, SCCResult sccResult) {
         // Create mapping from vertex to its position in order
         Map<Integer, Integer> position = new HashMap<>();
         for (int i = 0; i < vertexOrder.size(); i++) {
@@ -109,7 +135,7 @@ public class TopologicalSort {
     /**
      * Alternative validation that only checks condensation graph edges
      */
-    public static boolean validateComponentOrder(Graph condensationGraph, List<Integer> componentOrder) {
+    public static boolean validateComponentOrder(GraphView condensationGraph, List<Integer> componentOrder) {
         Map<Integer, Integer> compPosition = new HashMap<>();
         for (int i = 0; i < componentOrder.size(); i++) {
             compPosition.put(componentOrder.get(i), i);
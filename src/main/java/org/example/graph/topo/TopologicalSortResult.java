@@ -1,24 +1,43 @@
 package org.example.graph.topo;
 
+import org.example.graph.metrics.MemoryAccounting;
+import org.example.graph.util.IntArrayView;
+
 import java.util.List;
 
+/**
+ * Orders are stored as int arrays; the List getters are read-only views over them and copy nothing
+ */
 public class TopologicalSortResult {
-    private List<Integer> componentOrder;
-    private List<Integer> vertexOrder;
-    private boolean hasCycle;
+    private final int[] componentOrder;
+    private final int[] vertexOrder;
+    private final boolean hasCycle;
 
-    public TopologicalSortResult(List<Integer> componentOrder, List<Integer> vertexOrder, boolean hasCycle) {
+    public TopologicalSortResult(int[] componentOrder, int[] vertexOrder, boolean hasCycle) {
         this.componentOrder = componentOrder;
         this.vertexOrder = vertexOrder;
         this.hasCycle = hasCycle;
     }
 
+    public TopologicalSortResult(List<Integer> componentOrder, List<Integer> vertexOrder, boolean hasCycle) {
+        this(toArray(componentOrder), toArray(vertexOrder), hasCycle);
+    }
+
     // Getters
     public List<Integer> getComponentOrder() {
-        return componentOrder;
+        return componentOrder != null ? new IntArrayView(componentOrder) : null;
     }
 
     public List<Integer> getVertexOrder() {
+        return vertexOrder != null ? new IntArrayView(vertexOrder) : null;
+    }
+
+    // Shared arrays for tight loops; callers must not modify them
+    public int[] getComponentOrderArray() {
+        return componentOrder;
+    }
+
+    public int[] getVertexOrderArray() {
         return vertexOrder;
     }
 
@@ -30,6 +49,20 @@ public class TopologicalSortResult {
         return !hasCycle && componentOrder != null && vertexOrder != null;
     }
 
+    /**
+     * Estimates the bytes retained by the two order arrays
+     */
+    public long estimateRetainedBytes() {
+        long bytes = 0;
+        if (componentOrder != null) {
+            bytes += MemoryAccounting.intArray(componentOrder.length);
+        }
+        if (vertexOrder != null) {
+            bytes += MemoryAccounting.intArray(vertexOrder.length);
+        }
+        return bytes;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -37,10 +70,21 @@ public class TopologicalSortResult {
         sb.append("Has cycle: ").append(hasCycle).append("\n");
 
         if (isValid()) {
-            sb.append("Component order: ").append(componentOrder).append("\n");
-            sb.append("Vertex order: ").append(vertexOrder).append("\n");
+            sb.append("Component order: ").append(getComponentOrder()).append("\n");
+            sb.append("Vertex order: ").append(getVertexOrder()).append("\n");
         }
 
         return sb.toString();
     }
+
+    private static int[] toArray(List<Integer> values) {
+        if (values == null) {
+            return null;
+        }
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
 }
@@ -0,0 +1,41 @@
+package org.example.graph.trace;
+
+import java.util.List;
+
+/**
+ * Callbacks for the vertices, edges and components the engines touch, e.g. to find out
+ * why one run does far more work than another.
+ * Engines default to {@link #NONE}. While no other listener reaches a call site, the JIT sees a
+ * single receiver with empty bodies and inlines the calls to nothing, so unlistened runs pay nothing.
+ */
+public interface AlgorithmListener {
+    /**
+     * Listener that ignores every callback
+     */
+    AlgorithmListener NONE = new AlgorithmListener() {
+    };
+
+    /**
+     * A DFS first reaches the vertex (TarjanSCC)
+     */
+    default void vertexDiscovered(int vertex) {
+    }
+
+    /**
+     * The edge u -> v was relaxed with the given weight (path engines)
+     */
+    default void edgeRelaxed(int u, int v, int weight) {
+    }
+
+    /**
+     * A strongly connected component was completed; the list must not be modified (TarjanSCC)
+     */
+    default void componentEmitted(int componentId, List<Integer> vertices) {
+    }
+
+    /**
+     * The vertex (a component of the condensation) left the zero in-degree queue (KahnTopologicalSort)
+     */
+    default void vertexDequeued(int vertex) {
+    }
+}
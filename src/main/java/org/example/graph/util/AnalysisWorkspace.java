@@ -0,0 +1,82 @@
+package org.example.graph.util;
+
+import org.example.graph.metrics.MemoryAccounting;
+
+import java.util.EnumMap;
+
+/**
+ * Grow-only scratch buffers the engines reuse between runs, so repeated analyses of similar-sized graphs
+ * allocate little beyond their results. Buffers are handed out with at least the requested length and
+ * unspecified contents; each engine initializes the prefix it uses, so no reset is needed between runs.
+ * A workspace belongs to one thread at a time, and an engine's buffers are only valid during its run.
+ */
+public final class AnalysisWorkspace {
+
+    /**
+     * Named buffers; engines that run one after another may share a slot
+     */
+    public enum Slot {
+        INDICES, LOWLINKS, ON_STACK, STACK,
+        IN_DEGREE, OFFSETS, TARGETS, CURSOR, QUEUE, MARKS, KEEP,
+        DISTANCES, PREDECESSORS
+    }
+
+    private final EnumMap<Slot, int[]> ints = new EnumMap<>(Slot.class);
+    private final EnumMap<Slot, boolean[]> booleans = new EnumMap<>(Slot.class);
+    private long growCount;
+
+    public int[] ints(Slot slot, int size) {
+        int[] buffer = ints.get(slot);
+        if (buffer == null || buffer.length < size) {
+            buffer = new int[grownCapacity(buffer == null ? 0 : buffer.length, size)];
+            ints.put(slot, buffer);
+            growCount++;
+        }
+        return buffer;
+    }
+
+    public boolean[] booleans(Slot slot, int size) {
+        boolean[] buffer = booleans.get(slot);
+        if (buffer == null || buffer.length < size) {
+            buffer = new boolean[grownCapacity(buffer == null ? 0 : buffer.length, size)];
+            booleans.put(slot, buffer);
+            growCount++;
+        }
+        return buffer;
+    }
+
+    // Grows by at least half, so a slowly increasing size settles after a few runs
+    private static int grownCapacity(int current, int size) {
+        long grown = Math.max(size, current + (current >> 1));
+        return (int) Math.min(grown, Integer.MAX_VALUE - 8);
+    }
+
+    /**
+     * Number of buffer allocations so far; stays constant once the workspace has reached steady state
+     */
+    public long getGrowCount() {
+        return growCount;
+    }
+
+    /**
+     * Bytes currently held by the buffers
+     */
+    public long getCapacityBytes() {
+        long bytes = 0;
+        for (int[] buffer : ints.values()) {
+            bytes += MemoryAccounting.intArray(buffer.length);
+        }
+        for (boolean[] buffer : booleans.values()) {
+            bytes += MemoryAccounting.align(MemoryAccounting.ARRAY_HEADER + buffer.length);
+        }
+        return bytes;
+    }
+
+    /**
+     * Drops all buffers, e.g. after an unusually large graph
+     */
+    public void release() {
+        ints.clear();
+        booleans.clear();
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.graph.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform threads for running the analysis engines. Tarjan recurses once per vertex on a DFS path, so the
+ * default thread stack (and a virtual thread's) overflows on long chains; these threads get a deep one.
+ */
+public final class DeepStackThreads {
+    public static final long STACK_BYTES = 512L * 1024 * 1024;
+
+    private DeepStackThreads() {
+    }
+
+    /**
+     * Daemon threads named prefix-1, prefix-2, ...
+     */
+    public static ThreadFactory factory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(null, task, prefix + "-" + counter.incrementAndGet(), STACK_BYTES);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,39 +1,175 @@
 package org.example.graph.util;
 
+import org.example.graph.metrics.jfr.GraphLoadEvent;
+import org.example.graph.models.Edge;
 import org.example.graph.models.Graph;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.graph.models.GraphFingerprint;
+import org.example.graph.models.GraphProfile;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class GraphLoader {
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonFactory jsonFactory = new JsonFactory();
 
     /**
-     * Loads a graph from JSON file
+     * Loads a graph from JSON file.
+     * The file is read in one streaming pass that also computes the graph's fingerprint, then the profile
+     * used by the planner is taken from the parsed edges;
+     * fields other than those of Graph (e.g. a serialized adjacencyList) are skipped unparsed.
+     * The known fields are type-checked as strictly as data binding would: integers must be integral JSON
+     * numbers, every edge must be an object with "u" and "v", and nothing may follow the graph object.
      *
      * @param filePath path to the JSON file
      * @return Graph object
      * @throws IOException if file cannot be read or parsed
      */
     public static Graph loadFromJson(String filePath) throws IOException {
+        GraphLoadEvent event = new GraphLoadEvent();
+        event.begin();
+
         File file = new File(filePath);
         if (!file.exists()) {
             throw new IOException("File not found: " + filePath);
         }
 
-        Graph graph = objectMapper.readValue(file, Graph.class);
+        boolean directed = false;
+        int n = 0;
+        int source = 0;
+        String weightModel = null;
+        int[] nodeWeights = null;
+        List<Edge> edges = new ArrayList<>();
+        GraphFingerprint.Builder fingerprint = new GraphFingerprint.Builder();
+
+        try (JsonParser parser = jsonFactory.createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in file: " + filePath);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "directed" -> directed = readBoolean(parser, value, field);
+                    case "n" -> n = readInt(parser, value, field);
+                    case "source" -> source = readInt(parser, value, field);
+                    case "weight_model" -> weightModel = readString(parser, value, field);
+                    case "node_weights" -> nodeWeights = readIntArray(parser, value);
+                    case "edges" -> readEdges(parser, value, edges, fingerprint);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw new IOException("Expected a field name at " + parser.currentLocation());
+            }
+            if (parser.nextToken() != null) {
+                throw new IOException("Unexpected content after the graph object at " + parser.currentLocation());
+            }
+        }
+
+        Graph graph = new Graph(directed, n, edges, source, weightModel, nodeWeights);
 
         // Validate the loaded graph
         if (!graph.validate()) {
             throw new IOException("Invalid graph structure in file: " + filePath);
         }
 
-        // Build adjacency list for efficient operations
-        graph.buildAdjacencyList();
+        graph.setFingerprint(fingerprint.finish(directed, n, source, weightModel, nodeWeights));
+        graph.setProfile(GraphProfile.of(graph)); // one pass over the parsed edges, for the planner
+        graph.setName(filePath);
 
+        event.commitFor(graph, null);
         return graph;
     }
 
+    // Reads [{"u":..,"v":..,"w":..}, ...] straight into Edge objects, hashing each one as it is read
+    private static void readEdges(JsonParser parser, JsonToken value, List<Edge> edges,
+                                  GraphFingerprint.Builder fingerprint) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (value != JsonToken.START_ARRAY) {
+            throw new IOException("Expected an array of edges at " + parser.currentLocation());
+        }
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Expected an edge object at " + parser.currentLocation());
+            }
+            boolean hasU = false;
+            boolean hasV = false;
+            int u = 0;
+            int v = 0;
+            int w = 0; // Optional, as with data binding
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken fieldValue = parser.nextToken();
+                switch (field) {
+                    case "u" -> {
+                        u = readInt(parser, fieldValue, field);
+                        hasU = true;
+                    }
+                    case "v" -> {
+                        v = readInt(parser, fieldValue, field);
+                        hasV = true;
+                    }
+                    case "w" -> w = readInt(parser, fieldValue, field);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (!hasU || !hasV) {
+                throw new IOException("Edge without \"u\" or \"v\" at " + parser.currentLocation());
+            }
+            edges.add(new Edge(u, v, w));
+            fingerprint.edge(u, v, w);
+        }
+    }
+
+    private static int[] readIntArray(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.START_ARRAY) {
+            throw new IOException("Expected an array of integers at " + parser.currentLocation());
+        }
+        int[] values = new int[16];
+        int size = 0;
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (size == values.length) {
+                values = java.util.Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = readInt(parser, token, "node_weights");
+        }
+        return java.util.Arrays.copyOf(values, size);
+    }
+
+    // getIntValue() rejects values outside the int range
+    private static int readInt(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT) {
+            throw new IOException("Expected an integer for \"" + field + "\" at " + parser.currentLocation());
+        }
+        return parser.getIntValue();
+    }
+
+    private static boolean readBoolean(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value != JsonToken.VALUE_TRUE && value != JsonToken.VALUE_FALSE) {
+            throw new IOException("Expected a boolean for \"" + field + "\" at " + parser.currentLocation());
+        }
+        return value == JsonToken.VALUE_TRUE;
+    }
+
+    private static String readString(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            throw new IOException("Expected a string for \"" + field + "\" at " + parser.currentLocation());
+        }
+        return parser.getText();
+    }
+
     /**
      * Loads a graph from JSON file with error handling
      *
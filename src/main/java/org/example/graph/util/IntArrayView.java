@@ -0,0 +1,64 @@
+package org.example.graph.util;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only List view of a range of an int array; nothing is copied, elements are boxed on access.
+ * Lets results keep flat int[] storage while still offering the List accessors callers already use.
+ */
+public final class IntArrayView extends AbstractList<Integer> implements RandomAccess {
+    private final int[] values;
+    private final int from;
+    private final int to;
+
+    public IntArrayView(int[] values) {
+        this(values, 0, values.length);
+    }
+
+    public IntArrayView(int[] values, int from, int to) {
+        if (from < 0 || to > values.length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") of " + values.length);
+        }
+        this.values = values;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    /**
+     * Unboxed read for callers that know they hold an IntArrayView
+     */
+    public int getInt(int index) {
+        if (index < 0 || index >= to - from) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + (to - from));
+        }
+        return values[from + index];
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (o instanceof Integer value) {
+            for (int i = from; i < to; i++) {
+                if (values[i] == value) {
+                    return i - from;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,201 @@
+package graph;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.graph.models.Edge;
+import org.example.graph.models.Graph;
+import org.example.graph.dagsp.PathFinder;
+import org.example.graph.dagsp.PathResult;
+import org.example.graph.server.AnalysisServer;
+import org.example.graph.server.GraphSnapshot;
+import org.example.graph.server.MappedSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+class AnalysisServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private HttpResponse<String> request(AnalysisServer server, String method, String path, String body)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testQueriesAgainstLoadedGraph() throws Exception {
+        try (AnalysisServer server = AnalysisServer.start(0)) {
+            HttpResponse<String> load = request(server, "PUT", "/graphs/tasks", """
+                    {"directed": true, "n": 4, "edges": [{"u": 0, "v": 1, "w": 2}, {"u": 1, "v": 0, "w": 1},
+                     {"u": 1, "v": 2, "w": 5}], "source": 0, "weight_model": "edge"}""");
+            assertEquals(200, load.statusCode());
+            assertEquals(3, mapper.readTree(load.body()).get("sccs").asInt());
+
+            JsonNode scc = mapper.readTree(request(server, "GET", "/graphs/tasks/scc?vertex=1", null).body());
+            assertEquals(2, scc.get("members").size());
+
+            JsonNode path = mapper.readTree(request(server, "GET", "/graphs/tasks/paths?source=0&target=2", null).body());
+            assertTrue(path.get("reachable").asBoolean());
+            assertEquals(7, path.get("distance").asInt());
+            assertEquals(List.of(0, 1, 2), mapper.convertValue(path.get("path"), List.class));
+
+            JsonNode reachable = mapper.readTree(request(server, "GET", "/graphs/tasks/reachable?from=2&to=0", null).body());
+            assertFalse(reachable.get("reachable").asBoolean());
+            assertTrue(mapper.readTree(request(server, "GET", "/graphs/tasks/reachable?from=1&to=2", null).body())
+                    .get("reachable").asBoolean());
+
+            assertEquals(404, request(server, "GET", "/graphs/missing/scc", null).statusCode());
+            assertEquals(400, request(server, "GET", "/graphs/tasks/paths?source=9", null).statusCode());
+            assertEquals(200, request(server, "DELETE", "/graphs/tasks", null).statusCode());
+            assertEquals(404, request(server, "GET", "/graphs/tasks", null).statusCode());
+        }
+    }
+
+    @Test
+    void testConcurrentReadsDuringReplace() throws Exception {
+        try (AnalysisServer server = AnalysisServer.start(0)) {
+            server.load("chain", new Graph(true, 3, List.of(new Edge(0, 1, 1), new Edge(1, 2, 1)), 0, "edge"));
+
+            List<CompletableFuture<HttpResponse<String>>> reads = IntStream.range(0, 50)
+                    .mapToObj(i -> client.sendAsync(
+                            HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort()
+                                    + "/graphs/chain/paths?source=0&target=2")).build(),
+                            HttpResponse.BodyHandlers.ofString()))
+                    .toList();
+            // Replacement publishes a new snapshot while reads are in flight
+            server.load("chain", new Graph(true, 3, List.of(new Edge(0, 1, 2), new Edge(1, 2, 2)), 0, "edge"));
+
+            for (CompletableFuture<HttpResponse<String>> read : reads) {
+                HttpResponse<String> response = read.join();
+                assertEquals(200, response.statusCode());
+                int distance = mapper.readTree(response.body()).get("distance").asInt();
+                assertTrue(distance == 2 || distance == 4); // Old or new snapshot, never a mix
+            }
+            assertEquals(4, mapper.readTree(request(server, "GET", "/graphs/chain/paths?source=0&target=2", null)
+                    .body()).get("distance").asInt());
+        }
+    }
+
+    @Test
+    void testFileLoadingConfinedToDataDirectory(@TempDir Path dir) throws Exception {
+        Path data = Files.createDirectory(dir.resolve("data"));
+        Files.writeString(data.resolve("chain.json"), """
+                {"directed": true, "n": 2, "edges": [{"u": 0, "v": 1, "w": 1}], "source": 0}""");
+        Files.writeString(dir.resolve("secret.json"), "{}");
+
+        try (AnalysisServer server = AnalysisServer.start(0)) {
+            assertEquals(400, request(server, "PUT", "/graphs/g?file=" + data.resolve("chain.json"), null)
+                    .statusCode()); // Disabled without a data directory
+        }
+        try (AnalysisServer server = AnalysisServer.start(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), data)) {
+            assertEquals(200, request(server, "PUT", "/graphs/g?file=chain.json", null).statusCode());
+            assertEquals(400, request(server, "PUT", "/graphs/g?file=../secret.json", null).statusCode());
+            assertEquals(400, request(server, "PUT", "/graphs/g?file=" + dir.resolve("secret.json"), null)
+                    .statusCode());
+        }
+    }
+
+    @Test
+    void testServerKeepsMappedSnapshots(@TempDir Path dir) throws Exception {
+        Graph chain = new Graph(true, 3, List.of(new Edge(0, 1, 1), new Edge(1, 2, 1)), 0, "edge");
+        Path file = dir.resolve("chain.snapshot");
+        Object fileKey;
+        try (AnalysisServer server = AnalysisServer.start(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), dir)) {
+            server.load("chain", chain);
+            assertTrue(Files.exists(file));
+            assertEquals(chain.getFingerprint(), server.getMappedSnapshot("chain").getFingerprint());
+            assertArrayEquals(new int[]{0}, server.getMappedSnapshot("chain").getSources());
+            assertFalse(mapper.readTree(request(server, "GET", "/graphs/chain/reachable?from=2&to=0", null).body())
+                    .get("reachable").asBoolean());
+            fileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+        }
+
+        // A restart reuses the file written from the same graph and rewrites it for a changed one
+        try (AnalysisServer server = AnalysisServer.start(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), dir)) {
+            server.load("chain", chain);
+            assertEquals(fileKey, Files.readAttributes(file, BasicFileAttributes.class).fileKey());
+
+            Graph cycle = new Graph(true, 3, List.of(new Edge(0, 1, 1), new Edge(1, 2, 1), new Edge(2, 0, 1)), 0, "edge");
+            server.load("chain", cycle);
+            assertEquals(cycle.getFingerprint(), MappedSnapshot.open(file).getFingerprint());
+            assertTrue(mapper.readTree(request(server, "GET", "/graphs/chain/reachable?from=2&to=0", null).body())
+                    .get("reachable").asBoolean());
+
+            assertEquals(200, request(server, "DELETE", "/graphs/chain", null).statusCode());
+            assertNull(server.getMappedSnapshot("chain"));
+        }
+    }
+
+    @Test
+    void testDeepGraphAnalyzedOverHttp() throws Exception {
+        // Recursive Tarjan on a 200k-vertex chain needs the compute threads' deep stack
+        int n = 200_000;
+        StringBuilder json = new StringBuilder("{\"directed\": true, \"n\": " + n + ", \"source\": 0, \"edges\": [");
+        for (int v = 0; v + 1 < n; v++) {
+            json.append(v == 0 ? "" : ",").append("{\"u\":").append(v).append(",\"v\":").append(v + 1).append("}");
+        }
+        json.append("]}");
+        try (AnalysisServer server = AnalysisServer.start(0)) {
+            HttpResponse<String> load = request(server, "PUT", "/graphs/chain", json.toString());
+            assertEquals(200, load.statusCode());
+            assertEquals(n, mapper.readTree(load.body()).get("sccs").asInt());
+        }
+    }
+
+    @Test
+    void testMappedSnapshotRoundTrip(@TempDir Path dir) throws Exception {
+        // 0 <-> 1 form one SCC; 1 -> 2 -> 3, and 4 is isolated
+        Graph graph = new Graph(true, 5, List.of(new Edge(0, 1, 2), new Edge(1, 0, 1), new Edge(1, 2, 5),
+                new Edge(2, 3, 1)), 0, "edge");
+        GraphSnapshot snapshot = GraphSnapshot.of("tasks", graph);
+        Path file = dir.resolve("tasks.snap");
+        MappedSnapshot.write(file, snapshot, 0, 2);
+
+        MappedSnapshot mapped = MappedSnapshot.open(file);
+        assertEquals(graph.getFingerprint(), mapped.getFingerprint());
+        assertEquals(5, mapped.getVertexCount());
+        assertEquals(4, mapped.getComponentCount());
+        assertArrayEquals(new int[]{0, 2}, mapped.getSources());
+        for (int v = 0; v < 5; v++) {
+            assertEquals(snapshot.getSccResult().getComponentId(v), mapped.componentOf(v));
+            for (int w = 0; w < 5; w++) {
+                assertEquals(snapshot.isReachable(v, w), mapped.isReachable(v, w), v + " -> " + w);
+            }
+        }
+
+        PathResult shortest = PathFinder.findShortestPaths(snapshot.getGraph(), snapshot.getTopoResult(), 2);
+        PathResult longest = PathFinder.findLongestPaths(snapshot.getGraph(), snapshot.getTopoResult(), 0);
+        assertEquals(shortest.getDistances().get(3).longValue(), mapped.shortestDistance(2, 3));
+        assertEquals(MappedSnapshot.UNREACHABLE, mapped.shortestDistance(2, 0));
+        assertEquals(longest.getDistances().get(3).longValue(), mapped.longestDistance(0, 3));
+        assertEquals(MappedSnapshot.NEG_UNREACHABLE, mapped.longestDistance(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> mapped.shortestDistance(1, 0));
+
+        // A file cut short of what its header promises is rejected when opened
+        Path truncated = dir.resolve("truncated.snap");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(IOException.class, () -> MappedSnapshot.open(truncated));
+    }
+}
@@ -0,0 +1,170 @@
+package graph;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.graph.batch.BatchAnalyzer;
+import org.example.graph.cache.ResultCache;
+import org.example.graph.models.Edge;
+import org.example.graph.models.Graph;
+import org.example.graph.pipeline.AnalysisPipeline;
+import org.example.graph.pipeline.AnalysisResult;
+import org.example.graph.pipeline.AsyncAnalysisPipeline;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+class BatchAnalyzerTest {
+
+    @Test
+    void testBatchWritesOneLinePerGraph(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("chain.json"), """
+                {"directed": true, "n": 3, "edges": [{"u": 0, "v": 1, "w": 2}, {"u": 1, "v": 2, "w": 3}],
+                 "source": 0, "weight_model": "edge"}""");
+        Files.writeString(dir.resolve("cycle.json"), """
+                {"directed": true, "n": 2, "edges": [{"u": 0, "v": 1, "w": 1}, {"u": 1, "v": 0, "w": 1}],
+                 "source": 0, "weight_model": "edge"}""");
+        Files.writeString(dir.resolve("broken.json"), "{not json");
+        Files.writeString(dir.resolve("notes.txt"), "ignored");
+
+        List<Path> files = BatchAnalyzer.resolveInputs(List.of(dir.toString()));
+        assertEquals(3, files.size());
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        int failures = new BatchAnalyzer(2).run(files, new PrintStream(buffer, true, StandardCharsets.UTF_8));
+        assertEquals(1, failures);
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> byFile = new HashMap<>();
+        for (String line : buffer.toString(StandardCharsets.UTF_8).split("\\R")) {
+            JsonNode node = mapper.readTree(line);
+            byFile.put(Path.of(node.get("file").asText()).getFileName().toString(), node);
+        }
+        assertEquals(3, byFile.size());
+
+        JsonNode chain = byFile.get("chain.json");
+        assertTrue(chain.get("dag").asBoolean());
+        assertEquals(3, chain.get("sccs").asInt());
+        assertEquals(5, chain.get("criticalPathLength").asInt());
+
+        JsonNode cycle = byFile.get("cycle.json");
+        assertFalse(cycle.get("dag").asBoolean());
+        assertEquals(2, cycle.get("largestScc").asInt());
+
+        assertTrue(byFile.get("broken.json").has("error"));
+    }
+
+    @Test
+    void testAsyncPipelineStages() throws Exception {
+        Graph graph = new Graph(true, 4, List.of(
+                new Edge(0, 1, 2),
+                new Edge(1, 0, 1),
+                new Edge(1, 2, 3),
+                new Edge(2, 3, 4)
+        ), 0, "edge");
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            AsyncAnalysisPipeline.Stages stages = new AsyncAnalysisPipeline(executor).analyze(graph);
+            assertEquals(3, stages.scc().get().getComponents().size());
+            assertTrue(stages.orderValid().get());
+            assertEquals(9, stages.shortestPaths().get().getDistances().get(3));
+            assertEquals(9, stages.longestPaths().get().getDistances().get(3));
+
+            AnalysisResult result = stages.result().get();
+            assertSame(stages.topologicalOrder().get(), result.getTopoResult());
+            assertEquals(3, result.getPhaseMetrics().size());
+        }
+    }
+
+    @Test
+    void testAsyncPipelineAnalyzesFilesInOrder(@TempDir Path dir) throws Exception {
+        for (int n = 2; n <= 4; n++) {
+            Files.writeString(dir.resolve("g" + n + ".json"), "{\"directed\": true, \"n\": " + n
+                    + ", \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 1}], \"source\": 0, \"weight_model\": \"edge\"}");
+        }
+        List<Path> files = BatchAnalyzer.resolveInputs(List.of(dir.toString()));
+
+        List<AnalysisResult> results = new AsyncAnalysisPipeline().analyzeAll(files).get();
+        assertEquals(List.of(2, 3, 4), results.stream().map(r -> r.getGraph().getN()).toList());
+
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> new AsyncAnalysisPipeline().analyze(dir.resolve("missing.json")).result().join());
+        assertInstanceOf(UncheckedIOException.class, failure.getCause());
+    }
+
+    @Test
+    void testResultCacheSkipsUnchangedGraphs(@TempDir Path dir) {
+        List<Edge> edges = List.of(new Edge(0, 1, 2), new Edge(1, 2, 3), new Edge(2, 1, 1), new Edge(2, 3, 4));
+        AnalysisPipeline pipeline = new AnalysisPipeline();
+        ResultCache cache = new ResultCache(1 << 20, dir);
+
+        AnalysisResult computed = cache.analyze(new Graph(true, 4, edges, 0, "edge"), pipeline);
+        assertEquals(1, cache.getMisses());
+        assertFalse(computed.getPhaseMetrics().isEmpty());
+
+        // Equal content in a new Graph object is a memory hit and is not recomputed
+        Graph copy = new Graph(true, 4, new ArrayList<>(edges), 0, "edge");
+        AnalysisResult hit = cache.analyze(copy, pipeline);
+        assertEquals(1, cache.getMemoryHits());
+        assertSame(copy, hit.getGraph());
+        assertSame(computed.getSccResult(), hit.getSccResult());
+        assertTrue(hit.getPhaseMetrics().isEmpty());
+
+        // A new cache over the same directory reads the persisted result back
+        ResultCache reopened = new ResultCache(1 << 20, dir);
+        AnalysisResult restored = reopened.get(copy);
+        assertNotNull(restored);
+        assertEquals(1, reopened.getDiskHits());
+        assertEquals(computed.getSccResult().getComponents(), restored.getSccResult().getComponents());
+        assertArrayEquals(computed.getSccResult().getComponentId(), restored.getSccResult().getComponentId());
+        assertEquals(computed.getSccResult().getCondensationGraph().getEdges(),
+                restored.getSccResult().getCondensationGraph().getEdges());
+        assertEquals(computed.getTopoResult().getVertexOrder(), restored.getTopoResult().getVertexOrder());
+        assertEquals(computed.getShortestPaths().getDistances(), restored.getShortestPaths().getDistances());
+        assertEquals(computed.getLongestPaths().getCriticalPath(), restored.getLongestPaths().getCriticalPath());
+        assertEquals(computed.getLongestPaths().getCriticalPathLength(),
+                restored.getLongestPaths().getCriticalPathLength());
+
+        // A different graph misses, and with room for about one entry evicts the first
+        long oneEntry = cache.getRetainedBytes();
+        assertTrue(oneEntry > 0);
+        ResultCache small = new ResultCache(oneEntry);
+        small.put(copy.getFingerprint(), computed);
+        small.analyze(new Graph(true, 3, List.of(new Edge(0, 1, 1), new Edge(1, 2, 1)), 0, "edge"), pipeline);
+        assertEquals(1, small.getMisses());
+        assertEquals(1, small.size());
+        assertTrue(small.getRetainedBytes() <= oneEntry);
+    }
+
+    @Test
+    void testCorruptCacheLengthIsAMiss(@TempDir Path dir) throws Exception {
+        List<Edge> edges = List.of(new Edge(0, 1, 2), new Edge(1, 0, 3), new Edge(1, 2, 4));
+        Graph graph = new Graph(true, 3, edges, 0, "edge");
+        new ResultCache(1 << 20, dir).analyze(graph, new AnalysisPipeline());
+
+        // The first length field (component offsets) sits right after the magic and version
+        Path entry = dir.resolve(graph.getFingerprint() + ".bin");
+        try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(entry,
+                java.nio.file.StandardOpenOption.WRITE)) {
+            channel.write(java.nio.ByteBuffer.allocate(Integer.BYTES).putInt(0, Integer.MAX_VALUE), 8);
+        }
+
+        ResultCache reopened = new ResultCache(1 << 20, dir);
+        assertNull(reopened.get(graph));
+        assertEquals(1, reopened.getMisses());
+        assertEquals(0, reopened.getDiskHits());
+    }
+}
@@ -2,16 +2,38 @@ package graph;
 
 import org.example.graph.models.Graph;
 import org.example.graph.models.Edge;
+import org.example.graph.models.GraphProfile;
 import org.example.graph.scc.SCCFinder;
 import org.example.graph.scc.SCCResult;
 import org.example.graph.topo.TopologicalSort;
 import org.example.graph.topo.TopologicalSortResult;
 import org.example.graph.dagsp.PathFinder;
 import org.example.graph.dagsp.PathResult;
+import org.example.graph.dagsp.DAGShortestLongestPaths;
+import org.example.graph.metrics.Metrics;
+import org.example.graph.scc.TarjanSCC;
+import org.example.graph.scc.WeakComponents;
+import org.example.graph.topo.KahnTopologicalSort;
+import org.example.graph.trace.AlgorithmListener;
+import org.example.graph.output.ResultWriter;
+import org.example.graph.pipeline.AnalysisPipeline;
+import org.example.graph.pipeline.AnalysisPlan;
+import org.example.graph.pipeline.AnalysisPlanner;
+import org.example.graph.pipeline.AnalysisResult;
+import org.example.graph.pipeline.PartitionedAnalysisPipeline;
+import org.example.graph.util.AnalysisWorkspace;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Comprehensive tests for the complete graph analysis pipeline
@@ -220,4 +242,225 @@ class ComprehensiveTest {
         TopologicalSortResult topoResult = TopologicalSort.sortFromOriginal(graph, sccResult);
         assertTrue(topoResult.isValid());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testListenerSeesTouchedVerticesEdgesAndComponents() {
+        // Cycle 0->1->0 feeding 2
+        Graph graph = new Graph(true, 3, List.of(
+                new Edge(0, 1, 1),
+                new Edge(1, 0, 1),
+                new Edge(1, 2, 4)
+        ), 0, "edge");
+
+        List<String> trace = new ArrayList<>();
+        AlgorithmListener listener = new AlgorithmListener() {
+            @Override
+            public void vertexDiscovered(int vertex) {
+                trace.add("discover " + vertex);
+            }
+
+            @Override
+            public void edgeRelaxed(int u, int v, int weight) {
+                trace.add("relax " + u + "->" + v);
+            }
+
+            @Override
+            public void componentEmitted(int componentId, List<Integer> vertices) {
+                trace.add("component " + componentId + " size " + vertices.size());
+            }
+
+            @Override
+            public void vertexDequeued(int vertex) {
+                trace.add("dequeue " + vertex);
+            }
+        };
+
+        SCCResult sccResult = new TarjanSCC(Metrics.create("TarjanSCC"), listener).findSCCs(graph);
+        assertEquals(List.of("discover 0", "discover 1", "discover 2", "component 0 size 1", "component 1 size 2"),
+                trace);
+
+        trace.clear();
+        TopologicalSortResult topoResult = new KahnTopologicalSort(Metrics.create("KahnTopologicalSort"), listener)
+                .sortFromSCC(graph, sccResult);
+        assertEquals(List.of("dequeue 1", "dequeue 0"), trace);
+
+        trace.clear();
+        new DAGShortestLongestPaths(Metrics.create("DAGShortestLongestPaths"), listener)
+                .shortestPathsFromSource(graph, topoResult, 0);
+        assertTrue(trace.contains("relax 1->2"));
+        assertTrue(trace.stream().allMatch(event -> event.startsWith("relax ")));
+    }
+
+    @Test
+    void testResultWriterFormats() throws Exception {
+        // 0->1->2 with vertex 3 unreachable from the source
+        Graph graph = new Graph(true, 4, List.of(
+                new Edge(0, 1, 5),
+                new Edge(1, 2, 3),
+                new Edge(3, 2, 1)
+        ), 0, "edge");
+        AnalysisResult result = new AnalysisPipeline().analyze(graph);
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        new ResultWriter(ResultWriter.Format.JSON).write(result, json);
+        JsonNode root = new ObjectMapper().readTree(json.toByteArray());
+        assertEquals(4, root.get("scc").get("componentIds").size());
+        assertTrue(root.get("topologicalOrder").get("valid").asBoolean());
+        JsonNode shortest = root.get("paths").get("shortest");
+        assertEquals(8, shortest.get("distances").get(2).asInt());
+        assertTrue(shortest.get("distances").get(3).isNull());
+        assertEquals(1, shortest.get("predecessors").get(2).asInt());
+        assertEquals(3, root.get("metrics").size()); // DAG fast path: plan, acyclicity check and paths
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        new ResultWriter(ResultWriter.Format.CSV).write(result, csv);
+        String[] rows = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, rows.length);
+        assertTrue(rows[0].startsWith("vertex,component,topo_position"));
+        assertTrue(rows[3].startsWith("2,") && rows[3].endsWith(",8,1,8,1"));
+        assertTrue(rows[4].endsWith(",,,,"));
+
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        new ResultWriter(ResultWriter.Format.SUMMARY).write(result, summary);
+        assertTrue(summary.toString(StandardCharsets.UTF_8).contains("Is DAG: Yes"));
+    }
+
+    @Test
+    void testWorkspaceReachesSteadyState() {
+        Graph graph = new Graph(true, 8, List.of(
+                new Edge(0, 1, 3),
+                new Edge(1, 2, 2),
+                new Edge(2, 3, 4),
+                new Edge(3, 1, 1),
+                new Edge(4, 5, 2),
+                new Edge(5, 6, 5),
+                new Edge(6, 7, 1),
+                new Edge(3, 4, 1)
+        ), 0, "edge");
+        Graph smaller = new Graph(true, 3, List.of(new Edge(0, 1, 1), new Edge(1, 2, 1)), 0, "edge");
+
+        AnalysisWorkspace workspace = new AnalysisWorkspace();
+        AnalysisPipeline pipeline = new AnalysisPipeline();
+        AnalysisResult first = pipeline.analyze(graph, workspace);
+        long grown = workspace.getGrowCount();
+        assertTrue(grown > 0);
+
+        // Same-sized or smaller graphs reuse every buffer and get identical results
+        pipeline.analyze(smaller, workspace);
+        AnalysisResult second = pipeline.analyze(graph, workspace);
+        assertEquals(grown, workspace.getGrowCount());
+        assertEquals(first.getSccResult().getComponents(), second.getSccResult().getComponents());
+        assertEquals(first.getTopoResult().getVertexOrder(), second.getTopoResult().getVertexOrder());
+        assertEquals(first.getLongestPaths().getDistances(), second.getLongestPaths().getDistances());
+        assertEquals(first.getShortestPaths().getPredecessors(), second.getShortestPaths().getPredecessors());
+        assertEquals(first.getSccResult().getCondensationGraph().getEdges().size(),
+                second.getSccResult().getCondensationGraph().getEdges().size());
+    }
+
+    @Test
+    void testPlannerChoosesEnginesFromProfile() {
+        // Every vertex has an in-edge, so the profile alone proves a cycle and the check is skipped
+        Graph cyclic = new Graph(true, 4, List.of(
+                new Edge(0, 1, 1),
+                new Edge(1, 2, 1),
+                new Edge(2, 0, 1),
+                new Edge(2, 3, 1),
+                new Edge(3, 1, 1)
+        ), 0, "edge");
+        GraphProfile profile = cyclic.getProfile();
+        assertEquals(0, profile.getSources());
+        assertEquals(0, profile.getSinks());
+        assertTrue(profile.isCertainlyCyclic());
+
+        AnalysisResult result = new AnalysisPipeline(new AnalysisPlanner(1)).analyze(cyclic);
+        List<Metrics> phases = result.getPhaseMetrics();
+        assertEquals(List.of("AnalysisPlanner", "TarjanSCC", "KahnTopologicalSort", "DAGShortestLongestPaths"),
+                phases.stream().map(Metrics::getAlgorithmName).toList());
+        assertTrue(phases.get(0).getNotes().get("plan.scc").startsWith("tarjan"));
+        assertTrue(phases.get(0).getNotes().get("plan.condensation").startsWith("sequential"));
+
+        // A chain may be a DAG; huge weights make int path sums unsafe
+        Graph chain = new Graph(true, 4, List.of(
+                new Edge(0, 1, 1 << 30),
+                new Edge(1, 2, 1),
+                new Edge(2, 3, 1)
+        ), 0, "edge");
+        AnalysisPlan plan = new AnalysisPlanner(1).plan(chain.getProfile());
+        assertEquals(AnalysisPlan.SccStrategy.DAG_FAST_PATH, plan.getSccStrategy());
+        assertEquals(4, plan.getProfile().getEstimatedDepth());
+        assertTrue(plan.isPathOverflowPossible());
+        AnalysisResult chainResult = new AnalysisPipeline(new AnalysisPlanner(1)).analyze(chain);
+        assertNull(chainResult.getShortestPaths());
+        assertNull(chainResult.getLongestPaths());
+        List<Metrics> chainPhases = chainResult.getPhaseMetrics();
+        assertTrue(chainPhases.get(chainPhases.size() - 1).getNotes().get("paths").startsWith("skipped"));
+
+        // Only edge count and available threads decide the condensation build
+        GraphProfile.Builder large = new GraphProfile.Builder(3);
+        for (int i = 0; i < 1 << 20; i++) {
+            large.edge(i % 2, 1 + i % 2, 1);
+        }
+        GraphProfile largeProfile = large.finish(true, null);
+        assertTrue(new AnalysisPlanner(4).plan(largeProfile).isParallelCondensation());
+        assertFalse(new AnalysisPlanner(1).plan(largeProfile).isParallelCondensation());
+    }
+
+    @Test
+    void testPartitionedPipelineMatchesSequential() {
+        // Islands with interleaved ids: {0,3,6,9} with a cycle, the source's DAG {1,4,7}, cycle {2,5}, isolated 8
+        Graph graph = new Graph(true, 10, List.of(
+                new Edge(0, 3, 1),
+                new Edge(1, 4, 2),
+                new Edge(3, 6, 1),
+                new Edge(2, 5, 4),
+                new Edge(4, 7, 3),
+                new Edge(6, 0, 1),
+                new Edge(5, 2, 4),
+                new Edge(1, 7, 10),
+                new Edge(6, 9, 2)
+        ), 1, "edge");
+
+        WeakComponents islands = WeakComponents.of(graph);
+        assertEquals(4, islands.getCount());
+        assertEquals(List.of(0, 3, 6, 9), islands.getMembers(0));
+        assertEquals(3, islands.getComponentOf(8));
+        assertEquals(4, islands.getEdgeCount(0));
+
+        AnalysisResult expected = new AnalysisPipeline().analyze(graph);
+        AnalysisResult actual;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            actual = new PartitionedAnalysisPipeline(new AnalysisPlanner(), pool).analyze(graph);
+        } finally {
+            pool.shutdown();
+        }
+
+        SCCResult scc = actual.getSccResult();
+        Set<Set<Integer>> expectedComponents = new HashSet<>();
+        expected.getSccResult().getComponents().forEach(c -> expectedComponents.add(new HashSet<>(c)));
+        Set<Set<Integer>> actualComponents = new HashSet<>();
+        scc.getComponents().forEach(c -> actualComponents.add(new HashSet<>(c)));
+        assertEquals(expectedComponents, actualComponents);
+        for (int v = 0; v < graph.getN(); v++) {
+            assertTrue(scc.getComponent(scc.getComponentId()[v]).contains(v));
+        }
+
+        TopologicalSortResult topo = actual.getTopoResult();
+        assertTrue(topo.isValid());
+        assertTrue(TopologicalSort.validateTopologicalOrder(graph, topo.getVertexOrder(), scc));
+        assertTrue(TopologicalSort.validateComponentOrder(scc.getCondensationGraph(), topo.getComponentOrder()));
+
+        assertEquals(expected.getShortestPaths().getDistances(), actual.getShortestPaths().getDistances());
+        assertEquals(expected.getShortestPaths().getPredecessors(), actual.getShortestPaths().getPredecessors());
+        assertEquals(expected.getLongestPaths().getDistances(), actual.getLongestPaths().getDistances());
+        assertEquals(10, actual.getLongestPaths().getCriticalPathLength());
+        assertEquals(List.of(1, 7), actual.getLongestPaths().getCriticalPath());
+        assertEquals("WeakComponents", actual.getPhaseMetrics().get(0).getAlgorithmName());
+        assertEquals("4 islands in 4 groups", actual.getPhaseMetrics().get(0).getNotes().get("partition"));
+        // Groups run concurrently: a merged phase reports its slowest group, the sum is CPU time
+        Metrics planner = actual.getPhaseMetrics().get(1);
+        assertEquals("AnalysisPlanner", planner.getAlgorithmName());
+        assertEquals("4", planner.getNotes().get("groups"));
+        assertTrue(planner.getElapsedTimeNanos() <= Long.parseLong(planner.getNotes().get("cpuNanos")));
+    }
+}
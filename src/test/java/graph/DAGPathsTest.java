@@ -95,4 +95,135 @@ class DAGPathsTest {
         assertEquals(List.of(0), result.getCriticalPath());
         assertEquals(0, result.getCriticalPathLength());
     }
+
+    @Test
+    void testLongDistancesDoNotOverflow() {
+        // Chain of maximum int weights: the int engine would wrap, the 64-bit engine must not
+        int w = Integer.MAX_VALUE;
+        Graph graph = new Graph(true, 4, List.of(
+                new Edge(0, 1, w),
+                new Edge(1, 2, w),
+                new Edge(2, 3, w)
+        ), 0, "edge");
+
+        SCCResult sccResult = SCCFinder.findStronglyConnectedComponents(graph);
+        TopologicalSortResult topoResult = TopologicalSort.sortFromOriginal(graph, sccResult);
+        PathResult64 longest = PathFinder.findLongestPaths64(graph, topoResult, 0);
+        PathResult64 shortest = PathFinder.findShortestPaths64(graph, topoResult, 0);
+
+        assertEquals(3L * w, longest.getDistance(3));
+        assertEquals(3L * w, shortest.getDistance(3));
+        assertEquals(3L * w, longest.getCriticalPathLength());
+        assertEquals(List.of(0, 1, 2, 3), longest.getCriticalPath());
+    }
+
+    @Test
+    void testLongEngineUnreachableVertices() {
+        Graph graph = new Graph(true, 4, List.of(
+                new Edge(0, 1, 1),
+                new Edge(2, 3, 1)
+        ), 0, "edge");
+
+        SCCResult sccResult = SCCFinder.findStronglyConnectedComponents(graph);
+        TopologicalSortResult topoResult = TopologicalSort.sortFromOriginal(graph, sccResult);
+        PathResult64 shortest = PathFinder.findShortestPaths64(graph, topoResult, 0);
+
+        assertEquals(1, shortest.getDistance(1));
+        assertFalse(shortest.isReachable(2));
+        assertEquals(PathResult64.UNREACHABLE, shortest.getDistance(3));
+        assertEquals(List.of(0, 1), shortest.reconstructPath(1));
+        assertTrue(shortest.reconstructPath(3).isEmpty());
+    }
+
+    @Test
+    void testNodeWeightedPaths() {
+        // Node weights: 0(1), 1(4), 2(2), 3(3); edges carry no weight
+        Graph graph = new Graph(true, 4, List.of(
+                new Edge(0, 1, 0),
+                new Edge(0, 2, 0),
+                new Edge(1, 3, 0),
+                new Edge(2, 3, 0)
+        ), 0, Graph.NODE_WEIGHT_MODEL, new int[]{1, 4, 2, 3});
+
+        SCCResult sccResult = SCCFinder.findStronglyConnectedComponents(graph);
+        TopologicalSortResult topoResult = TopologicalSort.sortFromOriginal(graph, sccResult);
+
+        PathResult shortest = PathFinder.findShortestPaths(graph, topoResult, 0);
+        assertEquals(1, shortest.getDistances().get(0));
+        assertEquals(6, shortest.getDistances().get(3)); // 0->2->3 = 1+2+3
+
+        PathResult longest = PathFinder.findLongestPaths(graph, topoResult, 0);
+        assertEquals(8, longest.getDistances().get(3)); // 0->1->3 = 1+4+3
+        assertEquals(List.of(0, 1, 3), longest.getCriticalPath());
+
+        PathResult64 longest64 = PathFinder.findLongestPaths64(graph, topoResult, 0);
+        assertEquals(8, longest64.getDistance(3));
+        assertEquals(8, longest64.getCriticalPathLength());
+    }
+
+    @Test
+    void testNodeWeightedSourceOutsideGraph() {
+        // The source's weight must not be read before the source is range-checked
+        Graph graph = new Graph(true, 2, List.of(new Edge(0, 1, 0)), 0, Graph.NODE_WEIGHT_MODEL, new int[]{1, 2});
+        TopologicalSortResult topoResult = TopologicalSort.sortFromOriginal(graph,
+                SCCFinder.findStronglyConnectedComponents(graph));
+
+        DAGShortestLongestPaths engine = new DAGShortestLongestPaths();
+        PathResult shortest = assertDoesNotThrow(() -> engine.shortestPathsFromSource(graph, topoResult, 2));
+        PathResult longest = assertDoesNotThrow(() -> engine.longestPathsFromSource(graph, topoResult, -1));
+        assertEquals(Integer.MAX_VALUE, shortest.getDistances().get(1));
+        assertEquals(Integer.MIN_VALUE, longest.getDistances().get(1));
+    }
+
+    @Test
+    void testKBestPathsAndCounts() {
+        // Two equally short routes to 3 (0->1->3, 0->2->3) plus a longer direct edge 0->3
+        Graph graph = new Graph(true, 4, List.of(
+                new Edge(0, 1, 1),
+                new Edge(0, 2, 2),
+                new Edge(1, 3, 2),
+                new Edge(2, 3, 1),
+                new Edge(0, 3, 7)
+        ), 0, "edge");
+
+        SCCResult sccResult = SCCFinder.findStronglyConnectedComponents(graph);
+        TopologicalSortResult topoResult = TopologicalSort.sortFromOriginal(graph, sccResult);
+
+        KBestPathResult shortest = PathFinder.findKBestPaths(graph, topoResult, 0, 2, true);
+        assertEquals(2, shortest.getOptimalPathCount(3));
+        assertArrayEquals(new long[]{3, 3}, shortest.getKBestDistances(3));
+        assertEquals(2, shortest.getKBestPaths(3).size());
+        assertTrue(shortest.getKBestPaths(3).contains(List.of(0, 1, 3)));
+        assertTrue(shortest.getKBestPaths(3).contains(List.of(0, 2, 3)));
+
+        KBestPathResult longest = PathFinder.findKBestPaths(graph, topoResult, 0, 3, false);
+        assertEquals(1, longest.getOptimalPathCount(3));
+        assertArrayEquals(new long[]{7, 3, 3}, longest.getKBestDistances(3));
+        assertEquals(List.of(0, 3), longest.reconstructPath(3, 0));
+    }
+
+    @Test
+    void testDistancesToTarget() {
+        // Simple DAG: 0->1(2), 0->2(5), 1->3(1), 2->3(2), 4 isolated
+        Graph graph = new Graph(true, 5, List.of(
+                new Edge(0, 1, 2),
+                new Edge(0, 2, 5),
+                new Edge(1, 3, 1),
+                new Edge(2, 3, 2)
+        ), 0, "edge");
+
+        SCCResult sccResult = SCCFinder.findStronglyConnectedComponents(graph);
+        TopologicalSortResult topoResult = TopologicalSort.sortFromOriginal(graph, sccResult);
+
+        TargetPathResult shortest = PathFinder.findShortestPathsToTarget(graph, topoResult, 3);
+        assertEquals(0, shortest.getDistance(3));
+        assertEquals(1, shortest.getDistance(1));
+        assertEquals(3, shortest.getDistance(0));
+        assertEquals(List.of(0, 1, 3), shortest.pathToTarget(0));
+        assertFalse(shortest.canReachTarget(4));
+
+        TargetPathResult longest = PathFinder.findLongestPathsToTarget(graph, topoResult, 3);
+        assertEquals(7, longest.getDistance(0));
+        assertEquals(List.of(0, 2, 3), longest.pathToTarget(0));
+    }
 }
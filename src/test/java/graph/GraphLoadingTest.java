@@ -1,11 +1,23 @@
 package graph;
 
 import org.example.graph.models.Graph;
+import org.example.graph.models.CompressedAdjacency;
 import org.example.graph.models.Edge;
+import org.example.graph.models.GraphVersion;
+import org.example.graph.models.ImmutableGraph;
+import org.example.graph.models.VersionedGraph;
+import org.example.graph.util.GraphLoader;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 class GraphLoadingTest {
 
@@ -54,4 +66,192 @@ class GraphLoadingTest {
         List<Edge> outgoingFrom2 = graph.getOutgoingEdges(2);
         assertTrue(outgoingFrom2.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLoadNodeWeightedGraph(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("node.json");
+        Files.writeString(file, "{\"directed\": true, \"n\": 3, \"source\": 0, \"weight_model\": \"node\","
+                + " \"node_weights\": [2, 5, 1],"
+                + " \"edges\": [{\"u\": 0, \"v\": 1}, {\"u\": 1, \"v\": 2}]}");
+
+        Graph graph = GraphLoader.loadFromJson(file.toString());
+        assertTrue(graph.isNodeWeighted());
+        assertArrayEquals(new int[]{2, 5, 1}, graph.getNodeWeights());
+        assertEquals(5, graph.getNodeWeight(1));
+    }
+
+    @Test
+    void testMalformedJsonIsRejected(@TempDir Path dir) throws IOException {
+        List<String> malformed = List.of(
+                "{\"n\": 4, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 1}, 7, {\"u\": 1, \"v\": 2, \"w\": 1}], \"source\": 2}",
+                "{\"n\": 3, \"edges\": [{\"v\": 1, \"w\": 1}], \"source\": 0}",
+                "{\"n\": 3, \"edges\": [{\"u\": 0, \"v\": 1.9}], \"source\": 0}",
+                "{\"n\": 3, \"edges\": [{\"u\": \"0\", \"v\": 1}], \"source\": 0}",
+                "{\"n\": 3, \"edges\": [], \"source\": 0, \"directed\": \"yes\"}",
+                "{\"n\": 3, \"edges\": [], \"source\": 0, \"node_weights\": [1, null, 2]}",
+                "{\"n\": 3, \"edges\": [], \"source\": 0} {\"n\": 1}");
+        for (int i = 0; i < malformed.size(); i++) {
+            Path file = dir.resolve("bad" + i + ".json");
+            Files.writeString(file, malformed.get(i));
+            assertThrows(IOException.class, () -> GraphLoader.loadFromJson(file.toString()), malformed.get(i));
+        }
+    }
+
+    @Test
+    void testNodeWeightedGraphRequiresWeights() {
+        Graph graph = new Graph(true, 2, List.of(new Edge(0, 1, 0)), 0, Graph.NODE_WEIGHT_MODEL);
+        assertFalse(graph.validate());
+    }
+
+    @Test
+    void testReverseAdjacency() {
+        Graph graph = new Graph(true, 3, List.of(
+                new Edge(0, 2, 1),
+                new Edge(1, 2, 4),
+                new Edge(0, 1, 2)
+        ), 0, "edge");
+
+        CompressedAdjacency incoming = graph.getReverseAdjacency();
+        assertSame(incoming, graph.getReverseAdjacency()); // Cached
+        assertEquals(0, graph.getInDegree(0));
+        assertEquals(1, graph.getInDegree(1));
+        assertEquals(2, graph.getInDegree(2));
+
+        int start = incoming.getOffsets()[2];
+        assertEquals(0, incoming.getNeighbors()[start]);
+        assertEquals(1, incoming.getWeights()[start]);
+        assertEquals(1, incoming.getNeighbors()[start + 1]);
+        assertEquals(4, incoming.getWeights()[start + 1]);
+    }
+
+    @Test
+    void testImmutableGraphSnapshot() {
+        List<Edge> edges = new ArrayList<>(List.of(new Edge(0, 1, 3), new Edge(1, 2, 2), new Edge(0, 2, 7)));
+        Graph graph = new Graph(true, 3, edges, 0, "edge");
+        ImmutableGraph snapshot = ImmutableGraph.copyOf(graph);
+
+        // Later changes to the source graph do not reach the snapshot
+        edges.get(0).setW(100);
+        graph.setEdges(new ArrayList<>(List.of(new Edge(2, 0, 1))));
+        assertEquals(3, snapshot.getEdges().size());
+        assertEquals(3, snapshot.getOutgoingEdges(0).get(0).getW());
+        assertEquals(new Edge(0, 1, 3), snapshot.getEdges().get(0));
+
+        assertEquals(2, snapshot.getOutDegree(0));
+        assertEquals(2, snapshot.getInDegree(2));
+        assertSame(snapshot, ImmutableGraph.copyOf(snapshot));
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getEdges().add(new Edge(2, 0, 1)));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getOutgoingEdges(0).clear());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getEdges().get(0).setW(5));
+    }
+
+    @Test
+    void testConcurrentLazyAdjacencyIsNeverHalfBuilt() {
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 999; i++) {
+            edges.add(new Edge(i, i + 1, 1));
+        }
+        for (int round = 0; round < 20; round++) {
+            // The reverse index is built lazily by whichever reader gets there first
+            Graph graph = new Graph(true, 1000, edges, 0, "edge");
+            IntStream.range(0, 1000).parallel().forEach(v -> {
+                assertEquals(v < 999 ? 1 : 0, graph.getOutgoingEdges(v).size());
+                assertEquals(v > 0 ? 1 : 0, graph.getInDegree(v));
+            });
+        }
+    }
+
+    @Test
+    void testVersionedGraphSnapshotsAndCompaction() {
+        Graph initial = new Graph(true, 4, List.of(new Edge(0, 1, 1), new Edge(1, 2, 1)), 0, "edge");
+        try (VersionedGraph graph = new VersionedGraph(initial, 0)) {
+            GraphVersion pinned = graph.snapshot();
+            assertSame(pinned.toGraph(), graph.snapshot().toGraph()); // Compacted: the base itself
+
+            graph.addEdge(2, 3, 5);
+            GraphVersion removed = graph.removeEdge(0, 1);
+            GraphVersion latest = graph.addEdge(0, 1, 9);
+            assertEquals(3, latest.getVersion());
+            assertEquals(3, latest.getDeltaSize());
+
+            // The pinned version is unaffected by later writes
+            assertEquals(1, pinned.getOutgoingEdges(0).get(0).getW());
+            assertFalse(pinned.hasEdge(2, 3));
+            // An intermediate version ignores the operations appended after it
+            assertEquals(List.of(), removed.getOutgoingEdges(0));
+            assertEquals(2, removed.toGraph().getEdges().size());
+            assertEquals(List.of(new Edge(0, 1, 9)), latest.getOutgoingEdges(0));
+            assertTrue(latest.hasEdge(2, 3));
+            assertEquals(3, latest.toGraph().getEdges().size());
+
+            GraphVersion compacted = graph.compact();
+            assertTrue(compacted.isCompacted());
+            assertEquals(latest.getVersion(), compacted.getVersion());
+            assertEquals(latest.getOutgoingEdges(0), compacted.getOutgoingEdges(0));
+            assertEquals(3, compacted.toGraph().getEdges().size());
+
+            assertThrows(IllegalArgumentException.class, () -> graph.addEdge(0, 4, 1));
+        }
+
+        // An undirected base would show u -> v edits from u only, unlike its materialized graph
+        Graph undirected = new Graph(false, 2, List.of(new Edge(0, 1, 1)), 0, "edge");
+        assertThrows(IllegalArgumentException.class, () -> new VersionedGraph(undirected, 0));
+    }
+
+    @Test
+    void testVersionedGraphConcurrentWritersAndReaders() throws Exception {
+        try (VersionedGraph graph = new VersionedGraph(new Graph(true, 100, List.of(), 0, "edge"), 16)) {
+            Thread[] writers = new Thread[4];
+            for (int t = 0; t < writers.length; t++) {
+                int offset = t;
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        graph.addEdge(offset, (i % 99) + 1, i);
+                    }
+                });
+                writers[t].start();
+            }
+            // Readers only ever see whole versions: edge count always equals the version number
+            while (Arrays.stream(writers).anyMatch(Thread::isAlive)) {
+                GraphVersion version = graph.snapshot();
+                assertEquals(version.getVersion(), version.toGraph().getEdges().size());
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            GraphVersion last = graph.compact();
+            assertEquals(1000, last.getVersion());
+            assertEquals(1000, last.toGraph().getEdges().size());
+            assertEquals(250, last.getOutgoingEdges(2).size());
+        }
+    }
+
+    @Test
+    void testStreamingLoadComputesFingerprint(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("graph.json");
+        // Field order differs from Graph's and an unknown field is present; neither changes the fingerprint
+        Files.writeString(file, "{\"adjacencyList\": [[{\"u\": 0, \"v\": 1, \"w\": 4}], []],"
+                + " \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 4}, {\"u\": 1, \"v\": 2, \"w\": 1}],"
+                + " \"source\": 0, \"n\": 3, \"directed\": true, \"weight_model\": \"edge\"}");
+
+        Graph loaded = GraphLoader.loadFromJson(file.toString());
+        assertEquals(2, loaded.getEdges().size());
+        assertEquals(2, loaded.getOutDegree(0) + loaded.getOutDegree(1));
+
+        Graph same = new Graph(true, 3, List.of(new Edge(0, 1, 4), new Edge(1, 2, 1)), 0, "edge");
+        assertEquals(same.getFingerprint(), loaded.getFingerprint());
+        assertEquals(32, loaded.getFingerprint().length());
+
+        Graph otherWeight = new Graph(true, 3, List.of(new Edge(0, 1, 5), new Edge(1, 2, 1)), 0, "edge");
+        Graph otherSource = new Graph(true, 3, List.of(new Edge(0, 1, 4), new Edge(1, 2, 1)), 1, "edge");
+        assertNotEquals(same.getFingerprint(), otherWeight.getFingerprint());
+        assertNotEquals(same.getFingerprint(), otherSource.getFingerprint());
+
+        // Setters invalidate the stored fingerprint
+        String before = same.getFingerprint();
+        same.setSource(1);
+        assertEquals(otherSource.getFingerprint(), same.getFingerprint());
+        assertNotEquals(before, same.getFingerprint());
+    }
+}
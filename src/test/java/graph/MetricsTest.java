@@ -0,0 +1,245 @@
+package graph;
+
+import org.example.graph.metrics.*;
+import org.example.graph.models.Edge;
+import org.example.graph.models.Graph;
+import org.example.graph.scc.TarjanSCC;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+class MetricsTest {
+
+    @Test
+    void testLocalMetricsCountsAndFlushesOnce() {
+        ConcurrentMetrics total = new ConcurrentMetrics("Total");
+        LocalMetrics local = total.local();
+
+        local.startTimer();
+        local.incrementVerticesVisited(3_000_000_000L); // Past the old int range
+        local.incrementEdgesRelaxed();
+        assertEquals(0, total.getVerticesVisited()); // Nothing published before the phase ends
+        local.stopTimer();
+
+        assertEquals(3_000_000_000L, total.getVerticesVisited());
+        assertEquals(1, total.getEdgesRelaxed());
+        assertEquals(1, total.getPhaseCount());
+    }
+
+    @Test
+    void testConcurrentMetricsLosesNoUpdates() {
+        ConcurrentMetrics metrics = new ConcurrentMetrics("Parallel");
+        IntStream.range(0, 100_000).parallel().forEach(i -> metrics.incrementEdgesRelaxed());
+        assertEquals(100_000, metrics.getEdgesRelaxed());
+    }
+
+    @Test
+    void testNoOpMetricsRecordNothing() {
+        Graph graph = new Graph(true, 3, List.of(
+                new Edge(0, 1, 1),
+                new Edge(1, 2, 1),
+                new Edge(2, 0, 1)
+        ), 0, "edge");
+
+        NoOpMetrics metrics = new NoOpMetrics("TarjanSCC");
+        new TarjanSCC(metrics).findSCCs(graph);
+
+        assertFalse(metrics.isEnabled());
+        assertEquals(0, metrics.getVerticesVisited());
+        assertEquals(0, metrics.getElapsedTimeNanos());
+        assertEquals(-1, metrics.getAllocatedBytes());
+    }
+
+    @Test
+    void testEngineMetricsTimeIsSane() {
+        Graph graph = new Graph(true, 2, List.of(new Edge(0, 1, 1)), 0, "edge");
+        TarjanSCC tarjan = new TarjanSCC();
+        tarjan.findSCCs(graph);
+
+        Metrics metrics = tarjan.getMetrics();
+        assertEquals(2, metrics.getVerticesVisited());
+        assertTrue(metrics.getElapsedTimeNanos() >= 0);
+        assertTrue(metrics.getElapsedTimeMillis() < 60_000); // reset() no longer clears a running timer
+    }
+
+    @Test
+    void testSCCPhaseEmitsJfrEvent(@TempDir Path dir) throws Exception {
+        Graph graph = new Graph(true, 3, List.of(
+                new Edge(0, 1, 1),
+                new Edge(1, 2, 1)
+        ), 0, "edge");
+        graph.setName("jfr-test");
+
+        Path dump = dir.resolve("phases.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.graph.SCC");
+            recording.start();
+            new TarjanSCC().findSCCs(graph);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        RecordedEvent scc = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.example.graph.SCC"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("jfr-test", scc.getString("graphId"));
+        assertEquals(3, scc.getLong("vertices"));
+        assertEquals(2, scc.getLong("edges"));
+        assertEquals(3, scc.getLong("verticesVisited"));
+    }
+
+    @Test
+    void testCondensationEventReportsTheCondensation(@TempDir Path dir) throws Exception {
+        // A 3-cycle plus a tail: 4 vertices and 4 edges condense to 2 components joined by 1 edge
+        Graph graph = new Graph(true, 4, List.of(
+                new Edge(0, 1, 1),
+                new Edge(1, 2, 1),
+                new Edge(2, 0, 1),
+                new Edge(2, 3, 1)
+        ), 0, "edge");
+        graph.setName("jfr-condensation");
+
+        Path dump = dir.resolve("condensation.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.graph.Condensation");
+            recording.start();
+            new TarjanSCC().findSCCs(graph).getCondensationGraph();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        RecordedEvent condensation = RecordingFile.readAllEvents(dump).stream()
+                .filter(e -> e.getEventType().getName().equals("org.example.graph.Condensation"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("jfr-condensation#condensation", condensation.getString("graphId"));
+        assertEquals(2, condensation.getLong("vertices"));
+        assertEquals(1, condensation.getLong("edges"));
+        assertEquals(2, condensation.getLong("verticesVisited"));
+        assertEquals(4, condensation.getLong("edgesRelaxed"));
+    }
+
+    @Test
+    void testAllocationAndRetainedBytesReported() {
+        Graph graph = new Graph(true, 1000, java.util.stream.IntStream.range(0, 999)
+                .mapToObj(i -> new Edge(i, i + 1, 1))
+                .toList(), 0, "edge");
+
+        TarjanSCC tarjan = new TarjanSCC();
+        var result = tarjan.findSCCs(graph);
+        Metrics metrics = tarjan.getMetrics();
+
+        assertTrue(metrics.getAllocatedBytes() > 0 || metrics.getAllocatedBytes() == -1);
+        assertEquals(result.estimateRetainedBytes(), metrics.getRetainedBytes());
+        assertTrue(graph.estimateRetainedBytes() > 999 * 16);
+        assertTrue(metrics.toReport().contains("Retained (est.)"));
+        assertTrue(metrics.toJson().startsWith("{\"algorithm\":\"TarjanSCC\""));
+        assertEquals(metrics.getRetainedBytes(), metrics.toMap().get("retainedBytes"));
+    }
+
+    @Test
+    void testMetricsJsonEscapesControlCharacters() throws Exception {
+        Metrics metrics = new LocalMetrics("Notes");
+        metrics.recordNote("reason", "tab\there, \"quoted\"\nnext line \u0001");
+
+        String json = metrics.toJson();
+        assertFalse(json.contains("\n") || json.contains("\t") || json.contains("\u0001"));
+        var parsed = new com.fasterxml.jackson.databind.ObjectMapper().readTree(json);
+        assertEquals("tab\there, \"quoted\"\nnext line \u0001", parsed.get("reason").asText());
+        assertEquals("Notes", parsed.get("algorithm").asText());
+    }
+
+    @Test
+    void testLatencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L); // 1us .. 1ms
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMaxNanos());
+        // Buckets are within 12.5% of the true value
+        assertEquals(500_000, snapshot.getP50(), 500_000 * 0.125);
+        assertEquals(990_000, snapshot.getP99(), 990_000 * 0.125);
+        assertTrue(snapshot.getP999() <= snapshot.getMaxNanos());
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getP99());
+    }
+
+    @Test
+    void testHistogramCountBelowIncludesTheBound() {
+        LatencyHistogram histogram = new LatencyHistogram("bounds");
+        histogram.record(5);
+        histogram.record(1023); // Largest value of the [960, 1023] bucket
+        histogram.record(1024);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getCountBelow(4));
+        assertEquals(1, snapshot.getCountBelow(5));
+        assertEquals(1, snapshot.getCountBelow(1022));
+        assertEquals(2, snapshot.getCountBelow(1023));
+        assertEquals(3, snapshot.getCountBelow(2047));
+    }
+
+    @Test
+    void testLatencyHistogramConcurrentRecording() {
+        LatencyHistogram histogram = new LatencyHistogram("parallel");
+        IntStream.range(0, 100_000).parallel().forEach(i -> histogram.record(i));
+        assertEquals(100_000, histogram.snapshot().getCount());
+        assertEquals(99_999, histogram.snapshot().getMaxNanos());
+    }
+
+    @Test
+    void testFacadesRecordQueryLatency() {
+        Graph graph = new Graph(true, 2, List.of(new Edge(0, 1, 1)), 0, "edge");
+        long before = QueryLatencies.SCC.snapshot().getCount();
+        org.example.graph.scc.SCCFinder.findStronglyConnectedComponents(graph);
+        assertEquals(before + 1, QueryLatencies.SCC.snapshot().getCount());
+
+        // Acyclicity checks are not topological sorts
+        long sorts = QueryLatencies.TOPOLOGICAL_SORT.snapshot().getCount();
+        long checks = QueryLatencies.ACYCLICITY.snapshot().getCount();
+        org.example.graph.topo.TopologicalSort.isAcyclic(graph);
+        assertEquals(sorts, QueryLatencies.TOPOLOGICAL_SORT.snapshot().getCount());
+        assertEquals(checks + 1, QueryLatencies.ACYCLICITY.snapshot().getCount());
+    }
+
+    @Test
+    void testPrometheusExporterServesCumulativeCounters() throws Exception {
+        Graph graph = new Graph(true, 3, List.of(new Edge(0, 1, 1), new Edge(1, 0, 1), new Edge(1, 2, 1)), 0, "edge");
+        long before = MetricsRegistry.totals("TarjanSCC").getVerticesVisited();
+        new TarjanSCC().findSCCs(graph);
+        new TarjanSCC().findSCCs(graph);
+        assertEquals(before + 6, MetricsRegistry.totals("TarjanSCC").getVerticesVisited());
+
+        try (PrometheusExporter exporter = PrometheusExporter.start(0)) {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + exporter.getPort() + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode());
+            String body = response.body();
+            assertTrue(body.contains("# TYPE graph_vertices_visited_total counter"));
+            assertTrue(body.contains("graph_vertices_visited_total{algorithm=\"TarjanSCC\"} "
+                    + MetricsRegistry.totals("TarjanSCC").getVerticesVisited()));
+            assertTrue(body.contains("graph_phase_seconds_count{algorithm=\"TarjanSCC\"}"));
+            assertTrue(body.contains("graph_query_latency_seconds_bucket{query=\"scc\",le=\"+Inf\"}"));
+        }
+    }
+}
@@ -7,7 +7,9 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Random;
 
 class TarjanSCCTest {
 
@@ -97,4 +99,80 @@ class TarjanSCCTest {
         // Should have edges between components
         assertTrue(condensation.getEdges().size() > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReducedCondensationGraph() {
+        // Chain of three cycles with a redundant shortcut: A->B, B->C, A->C
+        Graph graph = new Graph(true, 6, List.of(
+                new Edge(0, 1, 1),
+                new Edge(1, 0, 1), // A = {0,1}
+                new Edge(2, 3, 1),
+                new Edge(3, 2, 1), // B = {2,3}
+                new Edge(4, 5, 1),
+                new Edge(5, 4, 1), // C = {4,5}
+                new Edge(1, 2, 1),
+                new Edge(3, 4, 1),
+                new Edge(0, 5, 1)  // Redundant: C is reachable through B
+        ), 0, "edge");
+
+        SCCResult result = new TarjanSCC().findSCCs(graph);
+        assertEquals(3, result.getCondensationGraph().getEdges().size());
+
+        Graph reduced = result.getReducedCondensationGraph();
+        assertEquals(3, reduced.getN());
+        assertEquals(2, reduced.getEdges().size());
+
+        int a = result.getComponentId(0);
+        int b = result.getComponentId(2);
+        int c = result.getComponentId(4);
+        assertTrue(reduced.getEdges().stream().anyMatch(e -> e.getU() == a && e.getV() == b));
+        assertTrue(reduced.getEdges().stream().anyMatch(e -> e.getU() == b && e.getV() == c));
+    }
+
+    @Test
+    void testCondensationIsBuiltLazily() {
+        Random random = new Random(7);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 450; i++) {
+            edges.add(new Edge(random.nextInt(300), random.nextInt(300), random.nextInt(10)));
+        }
+        Graph graph = new Graph(true, 300, edges, 0, "edge");
+
+        SCCResult sequential = new TarjanSCC().findSCCs(graph);
+        assertFalse(sequential.isCondensationBuilt());
+        assertTrue(sequential.getComponentCount() > 1);
+        assertFalse(sequential.isCondensationBuilt()); // ids and counts do not need it
+
+        SCCResult parallel = new TarjanSCC().findSCCs(graph);
+        Graph expected = sequential.getCondensationGraph();
+        assertTrue(sequential.isCondensationBuilt());
+        assertSame(expected, sequential.getCondensationGraph());
+
+        // Same edges in the same order, whichever way it is built
+        Graph actual = parallel.getCondensationGraphParallel();
+        assertEquals(expected.getN(), actual.getN());
+        assertEquals(expected.getSource(), actual.getSource());
+        assertFalse(expected.getEdges().isEmpty());
+        assertEquals(expected.getEdges(), actual.getEdges());
+    }
+
+    @Test
+    void testLazyCondensationIgnoresLaterEdits() {
+        // Components {0, 1} and {2}; the condensation is requested only after the graph was changed
+        Graph graph = new Graph(true, 3, List.of(
+                new Edge(0, 1, 1),
+                new Edge(1, 0, 1),
+                new Edge(1, 2, 4)
+        ), 0, "edge");
+        SCCResult result = new TarjanSCC().findSCCs(graph);
+        graph.setEdges(new ArrayList<>(List.of(new Edge(2, 0, 1))));
+        graph.setSource(2);
+
+        Graph condensation = result.getCondensationGraph();
+        int first = result.getComponentId(0);
+        int second = result.getComponentId(2);
+        assertEquals(2, condensation.getN());
+        assertEquals(List.of(new Edge(first, second, 4)), condensation.getEdges());
+        assertEquals(first, condensation.getSource());
+    }
+}
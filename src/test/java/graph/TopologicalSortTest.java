@@ -95,4 +95,74 @@ class TopologicalSortTest {
         // Validate topological order - ДОБАВЬ SCCResult параметр
         assertTrue(TopologicalSort.validateTopologicalOrder(graph, topoResult.getVertexOrder(), sccResult));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFlatResultsAreNotMutatedBySort() {
+        // 2 -> 0 -> 1 -> 2 is one SCC, 3 follows it
+        Graph graph = new Graph(true, 4, List.of(
+                new Edge(2, 0, 1),
+                new Edge(0, 1, 1),
+                new Edge(1, 2, 1),
+                new Edge(1, 3, 1)
+        ), 0, "edge");
+
+        SCCResult sccResult = SCCFinder.findStronglyConnectedComponents(graph);
+        int[] membersBefore = sccResult.getMembers().clone();
+        TopologicalSortResult topoResult = TopologicalSort.sortFromOriginal(graph, sccResult);
+
+        // The vertex order sorts each component's vertices in its own array, not in the SCC result
+        assertArrayEquals(membersBefore, sccResult.getMembers());
+        assertArrayEquals(new int[]{0, 1, 2, 3}, topoResult.getVertexOrderArray());
+        assertEquals(List.of(0, 1, 2, 3), topoResult.getVertexOrder());
+
+        assertEquals(2, sccResult.getComponentCount());
+        int cycle = sccResult.getComponentId(0);
+        assertEquals(3, sccResult.getComponentSize(cycle));
+        assertEquals(sccResult.getComponentSize(cycle), sccResult.getComponents().get(cycle).size());
+        assertTrue(sccResult.getComponents().get(cycle).containsAll(List.of(0, 1, 2)));
+        assertThrows(UnsupportedOperationException.class, () -> sccResult.getComponents().get(cycle).set(0, 5));
+    }
+
+    @Test
+    void testAcyclicityCheck() {
+        Graph dag = new Graph(true, 5, List.of(
+                new Edge(3, 1, 1),
+                new Edge(1, 2, 1),
+                new Edge(0, 2, 1),
+                new Edge(4, 3, 1)
+        ), 4, "edge");
+        AcyclicityResult acyclic = TopologicalSort.checkAcyclicity(dag);
+        assertTrue(acyclic.isAcyclic());
+        assertTrue(acyclic.getCycle().isEmpty());
+        int[] position = new int[5];
+        int[] order = acyclic.getTopologicalOrder();
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        for (Edge edge : dag.getEdges()) {
+            assertTrue(position[edge.getU()] < position[edge.getV()], edge.toString());
+        }
+
+        // The fast path's SCC result numbers components by topological position
+        SCCResult sccResult = SCCResult.ofAcyclic(dag, order);
+        TopologicalSortResult topoResult = acyclic.toTopologicalSortResult();
+        assertEquals(5, sccResult.getComponentCount());
+        assertTrue(TopologicalSort.validateTopologicalOrder(dag, topoResult.getVertexOrder(), sccResult));
+        assertTrue(TopologicalSort.validateComponentOrder(sccResult.getCondensationGraph(),
+                topoResult.getComponentOrder()));
+
+        // 0 -> 1 -> 2 -> 3 -> 1 has the cycle 1 -> 2 -> 3; the check stops at the back edge 3 -> 1
+        Graph cyclic = new Graph(true, 5, List.of(
+                new Edge(0, 1, 1),
+                new Edge(1, 2, 1),
+                new Edge(2, 3, 1),
+                new Edge(3, 1, 1),
+                new Edge(3, 4, 1)
+        ), 0, "edge");
+        AcyclicityResult witness = TopologicalSort.checkAcyclicity(cyclic);
+        assertFalse(witness.isAcyclic());
+        assertNull(witness.getTopologicalOrder());
+        assertEquals(List.of(1, 2, 3), witness.getCycle());
+        assertFalse(TopologicalSort.isAcyclic(new Graph(true, 1, List.of(new Edge(0, 0, 1)), 0, "edge")));
+    }
+}